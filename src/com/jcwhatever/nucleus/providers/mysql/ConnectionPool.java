@@ -0,0 +1,879 @@
+package com.jcwhatever.nucleus.providers.mysql;
+
+import com.jcwhatever.nucleus.utils.PreCon;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded pool of physical database connections.
+ *
+ * <p>Connections are leased for a unit of work and returned afterwards. The pool
+ * never holds more than the max size of physical connections. When all connections
+ * are leased, callers wait up to the lease timeout for one to be returned.</p>
+ *
+ * <p>Idle connections above the minimum size are closed after the idle timeout
+ * and every connection is replaced once it exceeds the max lifetime.</p>
+ *
+ * <p>Pools can share a global connection limit. A new physical connection is only
+ * opened when a permit is available from the limit.</p>
+ *
+ * <p>A leased connection is only validated with a server ping when it has been
+ * idle longer than the validation interval. A connection error on a connection
+ * that skipped validation causes every connection idle at that time to be
+ * validated on its next lease.</p>
+ *
+ * <p>Calls made outside of a lease use a connection kept for the calling thread.
+ * Thread connections are opened outside of the pool max size from a separate budget
+ * of {@link #MAX_THREAD_CONNECTIONS}. They are validated like leased connections,
+ * replaced once they exceed the max lifetime, and closed when they are not used
+ * for the idle timeout or their thread ends.</p>
+ */
+public class ConnectionPool {
+
+    private static final long MAINTENANCE_INTERVAL = 5000;
+    private static final int VALIDATION_TIMEOUT = 4;
+
+    /**
+     * The max number of connections kept for calls made outside of a lease.
+     */
+    public static final int MAX_THREAD_CONNECTIONS = 4;
+    private static final Timer MAINTENANCE =
+            new Timer("MySqlProvider Connection Pool Maintenance", true);
+
+    private final ConnectionPoolSettings _settings;
+    private final IConnectionFactory _factory;
+    private final Semaphore _connectionLimit;
+    private final ReentrantLock _lock = new ReentrantLock();
+    private final Condition _returned = _lock.newCondition();
+    private final Deque<PooledConnection> _idle = new ArrayDeque<>(10);
+    private final TimerTask _maintenanceTask;
+
+    private final AtomicLong _created = new AtomicLong();
+    private final AtomicLong _closed = new AtomicLong();
+    private final AtomicLong _leaseWaits = new AtomicLong();
+    private final AtomicLong _leaseTimeouts = new AtomicLong();
+    private final AtomicLong _validations = new AtomicLong();
+    private final AtomicLong _validationsSkipped = new AtomicLong();
+    private final AtomicLong _validationFailures = new AtomicLong();
+    private final AtomicLong _staleValidations = new AtomicLong();
+    private final AtomicLong _statementHits = new AtomicLong();
+    private final AtomicLong _statementMisses = new AtomicLong();
+    private final AtomicLong _statementEvictions = new AtomicLong();
+    private final AtomicLong _sessionCallsSkipped = new AtomicLong();
+
+    private volatile long _validateBefore;
+
+    private int _total;
+    private int _leased;
+    private boolean _isClosed;
+
+    // connections kept for calls made outside of a lease, guarded by this
+    private final Map<Thread, PooledConnection> _threadConnections = new HashMap<>(5);
+    private final Semaphore _threadConnectionLimit = new Semaphore(MAX_THREAD_CONNECTIONS);
+
+    /**
+     * Constructor.
+     *
+     * @param settings  The pool settings.
+     * @param factory   The factory used to open physical connections.
+     */
+    public ConnectionPool(ConnectionPoolSettings settings, IConnectionFactory factory) {
+        this(settings, factory, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param settings         The pool settings.
+     * @param factory          The factory used to open physical connections.
+     * @param connectionLimit  Limit shared with other pools. Each open physical
+     *                         connection holds a permit. Null for no shared limit.
+     */
+    public ConnectionPool(ConnectionPoolSettings settings, IConnectionFactory factory,
+                          @Nullable Semaphore connectionLimit) {
+        PreCon.notNull(settings);
+        PreCon.notNull(factory);
+
+        _settings = settings;
+        _factory = factory;
+        _connectionLimit = connectionLimit;
+
+        _maintenanceTask = new TimerTask() {
+            @Override
+            public void run() {
+                maintain();
+            }
+        };
+
+        MAINTENANCE.schedule(_maintenanceTask, 0, MAINTENANCE_INTERVAL);
+    }
+
+    /**
+     * Get the pool settings.
+     */
+    public ConnectionPoolSettings getSettings() {
+        return _settings;
+    }
+
+    /**
+     * Get the number of open physical connections, including leased connections.
+     */
+    public int getTotal() {
+        _lock.lock();
+        try {
+            return _total;
+        }
+        finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of currently leased connections.
+     */
+    public int getLeased() {
+        _lock.lock();
+        try {
+            return _leased;
+        }
+        finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of idle connections.
+     */
+    public int getIdle() {
+        _lock.lock();
+        try {
+            return _idle.size();
+        }
+        finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Get the total number of physical connections opened by the pool.
+     */
+    public long getCreatedCount() {
+        return _created.get();
+    }
+
+    /**
+     * Get the total number of physical connections closed by the pool.
+     */
+    public long getClosedCount() {
+        return _closed.get();
+    }
+
+    /**
+     * Get the number of leases that had to wait for a connection to be returned.
+     */
+    public long getLeaseWaits() {
+        return _leaseWaits.get();
+    }
+
+    /**
+     * Get the number of leases that timed out waiting for a connection.
+     */
+    public long getLeaseTimeouts() {
+        return _leaseTimeouts.get();
+    }
+
+    /**
+     * Get the number of leases that validated the connection with a server ping.
+     */
+    public long getValidations() {
+        return _validations.get();
+    }
+
+    /**
+     * Get the number of leases that skipped validation because the
+     * connection was used recently.
+     */
+    public long getValidationsSkipped() {
+        return _validationsSkipped.get();
+    }
+
+    /**
+     * Get the number of validations that found a dead connection.
+     */
+    public long getValidationFailures() {
+        return _validationFailures.get();
+    }
+
+    /**
+     * Get the number of connection errors on connections that were
+     * leased without validation.
+     */
+    public long getStaleValidations() {
+        return _staleValidations.get();
+    }
+
+    /**
+     * Get the number of prepared statements reused from connection statement caches.
+     */
+    public long getStatementCacheHits() {
+        return _statementHits.get();
+    }
+
+    /**
+     * Get the number of prepared statements that were not in a connection
+     * statement cache and had to be prepared.
+     */
+    public long getStatementCacheMisses() {
+        return _statementMisses.get();
+    }
+
+    /**
+     * Get the number of prepared statements evicted from connection statement caches.
+     */
+    public long getStatementCacheEvictions() {
+        return _statementEvictions.get();
+    }
+
+    /**
+     * Get the ratio of statement cache hits to total statement cache lookups.
+     */
+    public double getStatementCacheHitRate() {
+        long hits = _statementHits.get();
+        long total = hits + _statementMisses.get();
+
+        return total == 0 ? 0.0D : (double) hits / total;
+    }
+
+    /**
+     * Get the number of session state calls that were answered or skipped
+     * using the tracked session state.
+     */
+    public long getSessionCallsSkipped() {
+        return _sessionCallsSkipped.get();
+    }
+
+    /**
+     * Determine if an exception indicates the connection itself failed.
+     *
+     * @param exception  The exception to check.
+     */
+    public static boolean isConnectionError(SQLException exception) {
+        PreCon.notNull(exception);
+
+        String state = exception.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+
+    /**
+     * Report an exception thrown while using a leased connection.
+     *
+     * <p>Connection errors mark the connection as broken so it is closed when
+     * released. If the connection skipped validation when it was leased, all
+     * connections idle at this time are validated on their next lease.</p>
+     *
+     * @param connection  The leased connection.
+     * @param exception   The exception.
+     *
+     * @return  True if the connection error occurred on a connection that was leased
+     * without validation, otherwise false.
+     */
+    public boolean onError(PooledConnection connection, SQLException exception) {
+        PreCon.notNull(connection);
+        PreCon.notNull(exception);
+
+        if (!isConnectionError(exception))
+            return false;
+
+        connection.setBroken();
+
+        if (connection.isValidated())
+            return false;
+
+        _staleValidations.incrementAndGet();
+        _validateBefore = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * Lease a connection from the pool.
+     *
+     * <p>The connection must be returned using {@link #release}.</p>
+     *
+     * @throws SQLException if the pool is closed, no connection became available
+     * within the lease timeout, or a new connection could not be opened.
+     */
+    public PooledConnection lease() throws SQLException {
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(_settings.getLeaseTimeout());
+        boolean hasWaited = false;
+
+        // connections that fail validation are discarded and the lease
+        // is retried within the original lease timeout
+        while (true) {
+
+            long remaining = deadline - System.nanoTime();
+            long now = System.currentTimeMillis();
+            PooledConnection leased = null;
+            List<PooledConnection> expired = null;
+
+            _lock.lock();
+            try {
+                while (true) {
+
+                    if (_isClosed)
+                        throw new SQLException("Connection pool is closed.");
+
+                    // most recently used first so that surplus connections age out
+                    while ((leased = _idle.pollFirst()) != null) {
+
+                        if (!isExpired(leased, now))
+                            break;
+
+                        _total--;
+                        if (expired == null)
+                            expired = new ArrayList<>(3);
+                        expired.add(leased);
+                    }
+
+                    if (leased != null) {
+                        _leased++;
+                        break;
+                    }
+
+                    if (_total < _settings.getMaxSize()) {
+                        // reserve the slot, the connection is opened outside of the lock
+                        _total++;
+                        _leased++;
+                        break;
+                    }
+
+                    if (remaining <= 0) {
+                        _leaseTimeouts.incrementAndGet();
+                        throw new SQLException("Timed out waiting for a database connection ("
+                                + _settings.getMaxSize() + " leased).");
+                    }
+
+                    if (!hasWaited) {
+                        hasWaited = true;
+                        _leaseWaits.incrementAndGet();
+                    }
+
+                    try {
+                        remaining = _returned.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection.", e);
+                    }
+                }
+            }
+            finally {
+                _lock.unlock();
+            }
+
+            if (expired != null)
+                closeAll(expired);
+
+            if (leased == null)
+                return open(true, remaining);
+
+            if (isUsable(leased, now))
+                return leased;
+
+            discard(leased, true);
+
+            if (deadline - System.nanoTime() <= 0) {
+                _leaseTimeouts.incrementAndGet();
+                throw new SQLException("Timed out waiting for a valid database connection.");
+            }
+        }
+    }
+
+    /**
+     * Get the connection used by calls the current thread makes outside of a lease.
+     *
+     * <p>The connection is opened on first use and kept for the thread. It is replaced
+     * on the next call after it breaks, fails validation or exceeds the max lifetime.
+     * Other threads never use the connection.</p>
+     *
+     * @throws RuntimeException if no connection could be opened within the lease timeout.
+     */
+    public PooledConnection getThreadConnection() {
+
+        Thread thread = Thread.currentThread();
+        long now = System.currentTimeMillis();
+        PooledConnection connection;
+
+        synchronized (this) {
+            connection = _threadConnections.get(thread);
+        }
+
+        if (connection != null) {
+
+            if (!connection.isBroken() && !isExpired(connection, now) && isUsable(connection, now)) {
+
+                synchronized (this) {
+                    // not closed by maintenance in the meantime
+                    if (_threadConnections.get(thread) == connection) {
+                        connection.setLastUsed(now);
+                        return connection;
+                    }
+                }
+            }
+            else {
+                boolean isRemoved;
+                synchronized (this) {
+                    isRemoved = _threadConnections.get(thread) == connection;
+                    if (isRemoved)
+                        _threadConnections.remove(thread);
+                }
+
+                // otherwise already closed by maintenance
+                if (isRemoved)
+                    closeThreadConnection(connection);
+            }
+        }
+
+        try {
+            connection = openThreadConnection();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+
+        connection.setLastUsed(now);
+
+        synchronized (this) {
+            _threadConnections.put(thread, connection);
+        }
+
+        // closed while the connection was opened
+        if (isClosed()) {
+            boolean isRemoved;
+            synchronized (this) {
+                isRemoved = _threadConnections.get(thread) == connection;
+                if (isRemoved)
+                    _threadConnections.remove(thread);
+            }
+
+            // otherwise closed by the pool
+            if (isRemoved)
+                closeThreadConnection(connection);
+
+            throw new RuntimeException(new SQLException("Connection pool is closed."));
+        }
+
+        return connection;
+    }
+
+    /**
+     * Return a leased connection to the pool.
+     *
+     * <p>Broken and expired connections are closed instead of being returned.</p>
+     *
+     * @param connection  The connection to return.
+     */
+    public void release(PooledConnection connection) {
+        PreCon.notNull(connection);
+        PreCon.isValid(connection.getPool() == this, "Connection is not from this pool.");
+
+        long now = System.currentTimeMillis();
+        connection.setLastUsed(now);
+
+        boolean isDiscarded;
+
+        _lock.lock();
+        try {
+            _leased--;
+
+            isDiscarded = _isClosed || connection.isBroken() || isExpired(connection, now);
+            if (isDiscarded) {
+                _total--;
+            }
+            else {
+                _idle.addFirst(connection);
+            }
+
+            _returned.signal();
+        }
+        finally {
+            _lock.unlock();
+        }
+
+        if (isDiscarded)
+            close(connection);
+    }
+
+    /**
+     * Close the pool.
+     *
+     * <p>Idle connections are closed immediately. Leased connections are
+     * closed when they are returned.</p>
+     */
+    public void close() {
+
+        List<PooledConnection> threadConnections;
+
+        synchronized (this) {
+            threadConnections = new ArrayList<>(_threadConnections.values());
+            _threadConnections.clear();
+        }
+
+        for (PooledConnection connection : threadConnections) {
+            closeThreadConnection(connection);
+        }
+
+        List<PooledConnection> idle;
+
+        _lock.lock();
+        try {
+            if (_isClosed)
+                return;
+
+            _isClosed = true;
+            idle = new ArrayList<>(_idle);
+            _total -= _idle.size();
+            _idle.clear();
+            _returned.signalAll();
+        }
+        finally {
+            _lock.unlock();
+        }
+
+        _maintenanceTask.cancel();
+        closeAll(idle);
+    }
+
+    /**
+     * Close idle and expired connections and open connections
+     * up to the minimum size.
+     */
+    void maintain() {
+
+        long now = System.currentTimeMillis();
+
+        closeUnusedThreadConnections(now);
+
+        List<PooledConnection> evicted = null;
+        int toOpen;
+
+        _lock.lock();
+        try {
+            if (_isClosed)
+                return;
+
+            // least recently used connections are at the end
+            Iterator<PooledConnection> iterator = _idle.descendingIterator();
+            while (iterator.hasNext()) {
+                PooledConnection connection = iterator.next();
+
+                boolean isIdle = _total > _settings.getMinSize() &&
+                        now - connection.getLastUsedTime() >= _settings.getIdleTimeout();
+
+                if (!isIdle && !isExpired(connection, now))
+                    continue;
+
+                iterator.remove();
+                _total--;
+
+                if (evicted == null)
+                    evicted = new ArrayList<>(5);
+                evicted.add(connection);
+            }
+
+            toOpen = Math.max(0, _settings.getMinSize() - _total);
+            _total += toOpen;
+        }
+        finally {
+            _lock.unlock();
+        }
+
+        if (evicted != null)
+            closeAll(evicted);
+
+        for (int i = 0; i < toOpen; i++) {
+            PooledConnection connection;
+            try {
+                connection = open(false, 0);
+            } catch (SQLException e) {
+                // remaining reserved slots are released, the next run tries again
+                _lock.lock();
+                try {
+                    _total -= toOpen - i - 1;
+                }
+                finally {
+                    _lock.unlock();
+                }
+                return;
+            }
+            release(connection);
+        }
+    }
+
+    /*
+     * Close the connections kept for threads that have ended or that were not
+     * used for the idle timeout. A transaction left open on them is rolled back
+     * by the server.
+     */
+    private void closeUnusedThreadConnections(long now) {
+
+        List<PooledConnection> unused = null;
+
+        synchronized (this) {
+            Iterator<Entry<Thread, PooledConnection>> iterator =
+                    _threadConnections.entrySet().iterator();
+
+            while (iterator.hasNext()) {
+                Entry<Thread, PooledConnection> entry = iterator.next();
+
+                if (entry.getKey().isAlive() &&
+                        now - entry.getValue().getLastUsedTime() < _settings.getIdleTimeout()) {
+                    continue;
+                }
+
+                iterator.remove();
+
+                if (unused == null)
+                    unused = new ArrayList<>(3);
+                unused.add(entry.getValue());
+            }
+        }
+
+        if (unused == null)
+            return;
+
+        for (PooledConnection connection : unused) {
+            closeThreadConnection(connection);
+        }
+    }
+
+    /*
+     * Open a connection for calls made outside of a lease. Waits up to the
+     * lease timeout for the thread connection budget and the global limit.
+     */
+    private PooledConnection openThreadConnection() throws SQLException {
+
+        long timeout = _settings.getLeaseTimeout();
+        boolean hasPermit = false;
+        boolean hasGlobalPermit = false;
+
+        try {
+            if (isClosed())
+                throw new SQLException("Connection pool is closed.");
+
+            hasPermit = _threadConnectionLimit.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+            if (!hasPermit) {
+                throw new SQLException("Timed out waiting for a thread connection ("
+                        + MAX_THREAD_CONNECTIONS + " in use).");
+            }
+
+            if (_connectionLimit != null) {
+                hasGlobalPermit = _connectionLimit.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+                if (!hasGlobalPermit)
+                    throw new SQLException("Global database connection limit reached.");
+            }
+
+            PooledConnection connection = new PooledConnection(this, _factory.create());
+            _created.incrementAndGet();
+            return connection;
+        }
+        catch (SQLException | RuntimeException | InterruptedException e) {
+
+            if (hasGlobalPermit)
+                _connectionLimit.release();
+
+            if (hasPermit)
+                _threadConnectionLimit.release();
+
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection.", e);
+            }
+
+            if (e instanceof SQLException)
+                throw (SQLException) e;
+
+            throw (RuntimeException) e;
+        }
+    }
+
+    private boolean isClosed() {
+        _lock.lock();
+        try {
+            return _isClosed;
+        }
+        finally {
+            _lock.unlock();
+        }
+    }
+
+    private void closeThreadConnection(PooledConnection connection) {
+        close(connection);
+        _threadConnectionLimit.release();
+    }
+
+    void onSessionCallSkipped() {
+        _sessionCallsSkipped.incrementAndGet();
+    }
+
+    void onStatementCacheHit() {
+        _statementHits.incrementAndGet();
+    }
+
+    void onStatementCacheMiss() {
+        _statementMisses.incrementAndGet();
+    }
+
+    void onStatementEvicted() {
+        _statementEvictions.incrementAndGet();
+    }
+
+    /*
+     * Open a connection into a slot that was already reserved.
+     */
+    private PooledConnection open(boolean isLease, long timeout) throws SQLException {
+
+        Connection connection;
+        boolean hasPermit = false;
+        try {
+
+            if (_connectionLimit != null) {
+                hasPermit = _connectionLimit.tryAcquire(timeout, TimeUnit.NANOSECONDS);
+                if (!hasPermit) {
+                    if (isLease)
+                        _leaseTimeouts.incrementAndGet();
+                    throw new SQLException("Global database connection limit reached.");
+                }
+            }
+
+            connection = _factory.create();
+        }
+        catch (SQLException | RuntimeException | InterruptedException e) {
+
+            if (hasPermit)
+                _connectionLimit.release();
+
+            _lock.lock();
+            try {
+                _total--;
+                if (isLease)
+                    _leased--;
+                _returned.signal();
+            }
+            finally {
+                _lock.unlock();
+            }
+
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection.", e);
+            }
+
+            if (e instanceof SQLException)
+                throw (SQLException) e;
+
+            throw (RuntimeException) e;
+        }
+
+        _created.incrementAndGet();
+
+        if (!isLease) {
+            // added to the pool by a release
+            _lock.lock();
+            try {
+                _leased++;
+            }
+            finally {
+                _lock.unlock();
+            }
+        }
+
+        return new PooledConnection(this, connection);
+    }
+
+    private void discard(PooledConnection connection, boolean isLeased) {
+        _lock.lock();
+        try {
+            _total--;
+            if (isLeased)
+                _leased--;
+            _returned.signal();
+        }
+        finally {
+            _lock.unlock();
+        }
+        close(connection);
+    }
+
+    private boolean isExpired(PooledConnection connection, long now) {
+        return now - connection.getCreatedTime() >= _settings.getMaxLifetime();
+    }
+
+    private boolean isUsable(PooledConnection connection, long now) {
+
+        long lastUsed = connection.getLastUsedTime();
+
+        if (now - lastUsed < _settings.getValidationInterval() && lastUsed > _validateBefore) {
+            _validationsSkipped.incrementAndGet();
+            connection.setValidated(false);
+            return true;
+        }
+
+        _validations.incrementAndGet();
+        connection.setValidated(true);
+
+        boolean isValid;
+        try {
+            isValid = connection.getConnection().isValid(VALIDATION_TIMEOUT);
+        } catch (SQLException e) {
+            isValid = false;
+        }
+
+        if (!isValid)
+            _validationFailures.incrementAndGet();
+
+        return isValid;
+    }
+
+    private void close(PooledConnection connection) {
+        connection.close();
+        _closed.incrementAndGet();
+
+        if (_connectionLimit != null)
+            _connectionLimit.release();
+    }
+
+    private void closeAll(List<PooledConnection> connections) {
+        for (PooledConnection connection : connections) {
+            close(connection);
+        }
+    }
+
+    /**
+     * Opens physical connections for a {@link ConnectionPool}.
+     */
+    public interface IConnectionFactory {
+
+        /**
+         * Open a new physical connection.
+         *
+         * @throws SQLException
+         */
+        Connection create() throws SQLException;
+    }
+}
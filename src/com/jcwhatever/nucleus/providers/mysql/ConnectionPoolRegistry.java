@@ -0,0 +1,243 @@
+package com.jcwhatever.nucleus.providers.mysql;
+
+import com.jcwhatever.nucleus.providers.mysql.ConnectionPool.IConnectionFactory;
+import com.jcwhatever.nucleus.utils.PreCon;
+import org.bukkit.plugin.Plugin;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Provider wide registry of {@link ConnectionPool}'s.
+ *
+ * <p>Databases that connect to the same address and database with the same
+ * credentials and driver properties share a single pool. All pools share a
+ * global limit on the number of open physical connections.</p>
+ */
+public class ConnectionPoolRegistry {
+
+    private static final String NO_OWNER = "<none>";
+
+    private final ConnectionPoolSettings _settings;
+    private final int _maxConnections;
+    private final Semaphore _connectionLimit;
+    private final Map<PoolKey, ConnectionPool> _pools = new HashMap<>(10);
+    private final Map<ConnectionPool, PoolKey> _keys = new IdentityHashMap<>(10);
+    private final Map<ConnectionPool, Integer> _references = new IdentityHashMap<>(10);
+    private final Map<String, ConnectionUsage> _usage = new HashMap<>(10);
+
+    /**
+     * Constructor.
+     *
+     * @param settings        The settings used for new pools.
+     * @param maxConnections  The max number of open physical connections across all pools.
+     */
+    public ConnectionPoolRegistry(ConnectionPoolSettings settings, int maxConnections) {
+        PreCon.notNull(settings);
+        PreCon.greaterThanZero(maxConnections);
+
+        _settings = settings;
+        _maxConnections = maxConnections;
+        _connectionLimit = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * Get the max number of open physical connections across all pools.
+     */
+    public int getMaxConnections() {
+        return _maxConnections;
+    }
+
+    /**
+     * Get the number of open physical connections across all pools.
+     */
+    public int getOpenConnections() {
+        return _maxConnections - _connectionLimit.availablePermits();
+    }
+
+    /**
+     * Get the number of pools.
+     */
+    public synchronized int getPoolCount() {
+        return _pools.size();
+    }
+
+    /**
+     * Get the connection usage of all plugins.
+     */
+    public synchronized Collection<ConnectionUsage> getUsage() {
+        return new ArrayList<>(_usage.values());
+    }
+
+    /**
+     * Get the connection usage of a plugin.
+     *
+     * @param owner  The plugin. Null for databases opened without an owner.
+     */
+    public synchronized ConnectionUsage getUsage(@Nullable Plugin owner) {
+
+        String name = owner != null ? owner.getName() : NO_OWNER;
+
+        ConnectionUsage usage = _usage.get(name);
+        if (usage == null) {
+            usage = new ConnectionUsage(name);
+            _usage.put(name, usage);
+        }
+
+        return usage;
+    }
+
+    /**
+     * Get a pool for the specified database, creating it if needed.
+     *
+     * <p>Each call must be matched by a call to {@link #release}.</p>
+     *
+     * @param address       The server address.
+     * @param databaseName  The name of the database.
+     * @param user          The login name.
+     * @param password      The login password.
+     * @param properties    The driver connection properties. Databases with different
+     *                      properties do not share a pool.
+     */
+    public synchronized ConnectionPool acquire(String address, String databaseName,
+                                               String user, String password,
+                                               Properties properties) {
+        PreCon.notNullOrEmpty(address);
+        PreCon.notNull(databaseName);
+        PreCon.notNull(user);
+        PreCon.notNull(password);
+        PreCon.notNull(properties);
+
+        // snapshot so later changes to the properties do not affect the pool or its key
+        final Properties poolProperties = new Properties();
+        for (String name : properties.stringPropertyNames()) {
+            poolProperties.setProperty(name, properties.getProperty(name));
+        }
+
+        PoolKey key = new PoolKey(address, databaseName, user, password, poolProperties);
+
+        ConnectionPool pool = _pools.get(key);
+        if (pool == null) {
+
+            final String connectionString = MySqlProvider.getProvider().getConnectionString(
+                    address, databaseName, user, password);
+
+            pool = new ConnectionPool(_settings, new IConnectionFactory() {
+                @Override
+                public Connection create() throws SQLException {
+                    return DriverManager.getConnection(connectionString, poolProperties);
+                }
+            }, _connectionLimit);
+
+            _pools.put(key, pool);
+            _keys.put(pool, key);
+            _references.put(pool, 1);
+        }
+        else {
+            _references.put(pool, _references.get(pool) + 1);
+        }
+
+        return pool;
+    }
+
+    /**
+     * Release a pool returned by {@link #acquire}.
+     *
+     * <p>The pool is closed when it is no longer used.</p>
+     *
+     * @param pool  The pool to release.
+     */
+    public void release(ConnectionPool pool) {
+        PreCon.notNull(pool);
+
+        synchronized (this) {
+
+            Integer references = _references.get(pool);
+            if (references == null)
+                return;
+
+            if (references > 1) {
+                _references.put(pool, references - 1);
+                return;
+            }
+
+            _references.remove(pool);
+            _pools.remove(_keys.remove(pool));
+        }
+
+        pool.close();
+    }
+
+    /**
+     * Close all pools.
+     */
+    void close() {
+
+        List<ConnectionPool> pools;
+
+        synchronized (this) {
+            pools = new ArrayList<>(_pools.values());
+            _pools.clear();
+            _keys.clear();
+            _references.clear();
+        }
+
+        for (ConnectionPool pool : pools) {
+            pool.close();
+        }
+    }
+
+    private static class PoolKey {
+
+        final String address;
+        final String databaseName;
+        final String user;
+        final String password;
+        final Properties properties;
+        final int hash;
+
+        PoolKey(String address, String databaseName, String user, String password,
+                Properties properties) {
+            this.address = address;
+            this.databaseName = databaseName;
+            this.user = user;
+            this.password = password;
+            this.properties = properties;
+
+            int hash = address.hashCode();
+            hash = hash * 31 + databaseName.hashCode();
+            hash = hash * 31 + user.hashCode();
+            hash = hash * 31 + properties.hashCode();
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PoolKey))
+                return false;
+
+            PoolKey other = (PoolKey) obj;
+
+            return other.address.equals(address) &&
+                    other.databaseName.equals(databaseName) &&
+                    other.user.equals(user) &&
+                    other.password.equals(password) &&
+                    other.properties.equals(properties);
+        }
+    }
+}
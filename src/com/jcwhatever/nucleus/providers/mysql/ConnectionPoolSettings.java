@@ -0,0 +1,108 @@
+package com.jcwhatever.nucleus.providers.mysql;
+
+import com.jcwhatever.nucleus.utils.PreCon;
+
+/**
+ * Settings for a {@link ConnectionPool}.
+ */
+public class ConnectionPoolSettings {
+
+    private final int _minSize;
+    private final int _maxSize;
+    private final long _idleTimeout;
+    private final long _maxLifetime;
+    private final long _leaseTimeout;
+    private final long _validationInterval;
+    private final int _statementCacheSize;
+
+    /**
+     * Constructor.
+     *
+     * @param minSize       The minimum number of physical connections kept open.
+     * @param maxSize       The maximum number of physical connections. Must be at least 2.
+     * @param idleTimeout   The time in milliseconds an idle connection above the minimum
+     *                      size is kept open.
+     * @param maxLifetime   The maximum time in milliseconds a connection is used before
+     *                      it is closed and replaced.
+     * @param leaseTimeout  The maximum time in milliseconds to wait for a connection.
+     * @param validationInterval  The time in milliseconds a connection can be idle before
+     *                            it is validated when leased.
+     * @param statementCacheSize  The max number of prepared statements cached per connection.
+     */
+    public ConnectionPoolSettings(int minSize, int maxSize,
+                                  long idleTimeout, long maxLifetime, long leaseTimeout,
+                                  long validationInterval, int statementCacheSize) {
+        PreCon.positiveNumber(minSize);
+        PreCon.isValid(maxSize >= 2, "Max pool size must be at least 2.");
+        PreCon.isValid(minSize <= maxSize, "Min pool size cannot be larger than the max size.");
+        PreCon.greaterThanZero(idleTimeout);
+        PreCon.greaterThanZero(maxLifetime);
+        PreCon.greaterThanZero(leaseTimeout);
+        PreCon.positiveNumber(validationInterval);
+        PreCon.positiveNumber(statementCacheSize);
+
+        _minSize = minSize;
+        _maxSize = maxSize;
+        _idleTimeout = idleTimeout;
+        _maxLifetime = maxLifetime;
+        _leaseTimeout = leaseTimeout;
+        _validationInterval = validationInterval;
+        _statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * Get the minimum number of physical connections kept open.
+     */
+    public int getMinSize() {
+        return _minSize;
+    }
+
+    /**
+     * Get the maximum number of physical connections.
+     */
+    public int getMaxSize() {
+        return _maxSize;
+    }
+
+    /**
+     * Get the time in milliseconds an idle connection above the minimum
+     * size is kept open.
+     */
+    public long getIdleTimeout() {
+        return _idleTimeout;
+    }
+
+    /**
+     * Get the maximum time in milliseconds a connection is used before
+     * it is closed and replaced.
+     */
+    public long getMaxLifetime() {
+        return _maxLifetime;
+    }
+
+    /**
+     * Get the maximum time in milliseconds to wait for a connection.
+     */
+    public long getLeaseTimeout() {
+        return _leaseTimeout;
+    }
+
+    /**
+     * Get the time in milliseconds a connection can be idle before
+     * it is validated when leased.
+     *
+     * <p>0 validates the connection on every lease.</p>
+     */
+    public long getValidationInterval() {
+        return _validationInterval;
+    }
+
+    /**
+     * Get the max number of prepared statements cached per connection.
+     *
+     * <p>0 disables statement caching.</p>
+     */
+    public int getStatementCacheSize() {
+        return _statementCacheSize;
+    }
+}
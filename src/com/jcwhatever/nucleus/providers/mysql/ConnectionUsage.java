@@ -0,0 +1,90 @@
+package com.jcwhatever.nucleus.providers.mysql;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connection usage of a single plugin.
+ */
+public class ConnectionUsage {
+
+    private final String _owner;
+    private final AtomicInteger _databases = new AtomicInteger();
+    private final AtomicInteger _activeLeases = new AtomicInteger();
+    private final AtomicLong _leases = new AtomicLong();
+    private final AtomicLong _leaseTime = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param owner  The name of the plugin that owns the usage.
+     */
+    ConnectionUsage(String owner) {
+        _owner = owner;
+    }
+
+    /**
+     * Get the name of the plugin that owns the usage.
+     */
+    public String getOwner() {
+        return _owner;
+    }
+
+    /**
+     * Get the number of open databases owned by the plugin.
+     */
+    public int getDatabaseCount() {
+        return _databases.get();
+    }
+
+    /**
+     * Get the number of connections currently leased by the plugin.
+     */
+    public int getActiveLeases() {
+        return _activeLeases.get();
+    }
+
+    /**
+     * Get the total number of connection leases made by the plugin.
+     */
+    public long getTotalLeases() {
+        return _leases.get();
+    }
+
+    /**
+     * Get the total time in milliseconds connections were leased by the plugin.
+     */
+    public long getTotalLeaseMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(_leaseTime.get());
+    }
+
+    /**
+     * Get the average time in milliseconds a connection was leased by the plugin.
+     */
+    public double getAverageLeaseMillis() {
+        long leases = _leases.get();
+        if (leases == 0)
+            return 0.0D;
+
+        return _leaseTime.get() / (double) leases / 1000000.0D;
+    }
+
+    void onDatabaseOpened() {
+        _databases.incrementAndGet();
+    }
+
+    void onDatabaseClosed() {
+        _databases.decrementAndGet();
+    }
+
+    void onLease() {
+        _activeLeases.incrementAndGet();
+        _leases.incrementAndGet();
+    }
+
+    void onRelease(long leaseTime) {
+        _activeLeases.decrementAndGet();
+        _leaseTime.addAndGet(leaseTime);
+    }
+}
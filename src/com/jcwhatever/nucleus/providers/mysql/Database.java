@@ -1,6 +1,8 @@
 package com.jcwhatever.nucleus.providers.mysql;
 
+import com.jcwhatever.nucleus.providers.mysql.ReplicaSet.Replica;
 import com.jcwhatever.nucleus.providers.mysql.compound.CompoundDataManager;
+import com.jcwhatever.nucleus.providers.mysql.statements.StatementExecutor;
 import com.jcwhatever.nucleus.providers.mysql.statements.Transaction;
 import com.jcwhatever.nucleus.providers.mysql.table.Table;
 import com.jcwhatever.nucleus.providers.mysql.table.TableBuilder;
@@ -19,19 +21,35 @@ import com.jcwhatever.nucleus.utils.observer.future.Result;
 import javax.annotation.Nullable;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of {@link ISqlDatabase}.
  */
 public class Database implements ISqlDatabase {
 
+    private static final int WARM_UP_VALIDATION_TIMEOUT = 4;
+
     private final String _name;
+    private final DriverProfile _driverProfile;
     private final MySqlConnection _connection;
+    private final ReplicaSet _replicas;
+    private final ConnectionUsage _usage;
     private final CompoundDataManager _compoundManager;
     private final Map<String, ISqlTable> _tableMap = new HashMap<>(20);
 
+    private volatile Executor _completionExecutor;
+    private volatile int _queryTimeout;
+    private volatile boolean _isWarmedUp;
+    private volatile long _warmUpTime;
+
     /**
      * Constructor.
      *
@@ -41,10 +59,80 @@ public class Database implements ISqlDatabase {
      * @param password  The user password to connect with.
      */
     public Database(String address, String name, String user, String password) {
+        this(address, name, user, password, new DatabaseOptions());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param address   The database address.
+     * @param name      The name of the database to connect to.
+     * @param user      The user name to connect with.
+     * @param password  The user password to connect with.
+     * @param options   The connection options.
+     */
+    public Database(String address, String name, String user, String password,
+                    DatabaseOptions options) {
+        PreCon.notNull(options);
 
         _name = name;
-        _connection = new MySqlConnection(address, name, user, password);
+
+        MySqlProvider provider = MySqlProvider.getProvider();
+
+        _driverProfile = provider.getDriverProfile(name);
+        _queryTimeout = provider.getQueryTimeout(name);
+        Properties properties = provider.getDriverProperties(name);
+
+        ConnectionPoolRegistry registry = provider.getPoolRegistry();
+
+        _usage = registry.getUsage(options.getOwner());
+        _usage.onDatabaseOpened();
+
+        _connection = new MySqlConnection(
+                registry.acquire(address, name, user, password, properties), _usage);
+        _connection.setPipelineEnabled(
+                "true".equalsIgnoreCase(properties.getProperty("allowMultiQueries")) &&
+                !"true".equalsIgnoreCase(properties.getProperty("useServerPrepStmts")));
+        _replicas = options.getReplicas().isEmpty()
+                ? null
+                : new ReplicaSet(options.getReplicas(), name, user, password, properties);
         _compoundManager = new CompoundDataManager(this);
+
+        if (!properties.isEmpty()) {
+            Thread thread = new Thread(new DriverCheck(properties),
+                    "MySqlProvider Driver Check (" + name + ')');
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        if (options.getWarmUpConnections() > 0) {
+            boolean isServerPrepare = "true".equalsIgnoreCase(properties.getProperty("useServerPrepStmts"));
+
+            Thread thread = new Thread(new WarmUp(options, isServerPrepare),
+                    "MySqlProvider Warm-up (" + name + ')');
+            thread.setDaemon(true);
+            thread.start();
+        }
+        else {
+            _isWarmedUp = true;
+        }
+    }
+
+    /**
+     * Get the driver tuning profile the database connections use.
+     */
+    public DriverProfile getDriverProfile() {
+        return _driverProfile;
+    }
+
+    /**
+     * Get the read replicas.
+     *
+     * @return  The replicas or null if the database has none.
+     */
+    @Nullable
+    public ReplicaSet getReplicas() {
+        return _replicas;
     }
 
     /**
@@ -54,9 +142,81 @@ public class Database implements ISqlDatabase {
         return _compoundManager;
     }
 
+    /**
+     * Get the default executor used to complete statement results.
+     *
+     * @return  The executor or null if results are completed on the main thread.
+     */
+    @Nullable
+    public Executor getCompletionExecutor() {
+        return _completionExecutor;
+    }
+
+    /**
+     * Set the default executor used to complete statement results.
+     *
+     * <p>Used when a transaction or statement list does not specify its own
+     * completion executor. Use {@link StatementExecutor#DIRECT} to complete
+     * results on the statement executor thread.</p>
+     *
+     * @param executor  The executor. Null to complete results on the main thread.
+     */
+    public void setCompletionExecutor(@Nullable Executor executor) {
+        _completionExecutor = executor;
+    }
+
+    /**
+     * Get the default query timeout in seconds.
+     *
+     * @return  The timeout. 0 for no timeout.
+     */
+    public int getQueryTimeout() {
+        return _queryTimeout;
+    }
+
+    /**
+     * Set the default query timeout in seconds.
+     *
+     * <p>Used when a statement list does not specify its own timeout.</p>
+     *
+     * @param seconds  The timeout. 0 for no timeout.
+     */
+    public void setQueryTimeout(int seconds) {
+        PreCon.positiveNumber(seconds);
+
+        _queryTimeout = seconds;
+    }
+
+    /**
+     * Close the database connection pools.
+     */
+    void dispose() {
+        MySqlProvider.getProvider().getPoolRegistry().release(_connection.getPool());
+        _usage.onDatabaseClosed();
+
+        if (_replicas != null)
+            _replicas.close();
+    }
+
+    /**
+     * Get the time in milliseconds the connection warm-up took.
+     *
+     * @return  The time or 0 if the warm-up is not finished or was not performed.
+     */
+    public long getWarmUpTime() {
+        return _warmUpTime;
+    }
+
+    /**
+     * Determine if the connection warm-up is finished.
+     */
+    public boolean isWarmedUp() {
+        return _isWarmedUp;
+    }
+
     @Override
     public boolean isLoaded() {
-        return _compoundManager.isLoaded();
+        return _isWarmedUp && _compoundManager.isLoaded();
     }
 
     @Override
@@ -116,4 +276,140 @@ public class Database implements ISqlDatabase {
     public ISqlTransaction createTransaction() {
         return new Transaction(this);
     }
+
+    /*
+     * Compares the configured driver properties to the values in effect
+     * on a live connection and logs the properties that were not applied.
+     */
+    private class DriverCheck implements Runnable {
+
+        final Properties properties;
+
+        DriverCheck(Properties properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public void run() {
+
+            ConnectionPool pool = _connection.getPool();
+            Map<String, String> notApplied;
+
+            try {
+                PooledConnection connection = pool.lease();
+                try {
+                    notApplied = MySqlProvider.getProvider().checkDriverProperties(
+                            connection.getConnection(), properties);
+                }
+                finally {
+                    pool.release(connection);
+                }
+            }
+            catch (SQLException e) {
+                Msg.warning("Driver properties of database '{0}' could not be checked: {1}",
+                        _name, e.getMessage());
+                return;
+            }
+
+            for (Map.Entry<String, String> entry : notApplied.entrySet()) {
+                Msg.warning("Driver property '{0}' for database '{1}' was not applied: {2}",
+                        entry.getKey(), _name, entry.getValue());
+            }
+        }
+    }
+
+    /*
+     * Opens and pings connections before the database is reported as loaded.
+     * Hot statements are prepared on each connection when the driver uses server
+     * side prepared statements. Client side statements are not sent to the
+     * server until executed, so preparing them gains nothing.
+     */
+    private class WarmUp implements Runnable {
+
+        final int connections;
+        final List<String> sql;
+        final boolean isServerPrepare;
+        int validated;
+
+        WarmUp(DatabaseOptions options, boolean isServerPrepare) {
+            this.connections = options.getWarmUpConnections();
+            this.sql = isServerPrepare
+                    ? new ArrayList<>(options.getWarmUpSql())
+                    : Collections.<String>emptyList();
+            this.isServerPrepare = isServerPrepare;
+        }
+
+        @Override
+        public void run() {
+
+            long start = System.nanoTime();
+            int statements = 0;
+
+            try {
+                statements += warmUp(_connection.getPool());
+
+                if (_replicas != null) {
+                    for (Replica replica : _replicas.getReplicas()) {
+                        statements += warmUp(replica.getPool());
+                    }
+                }
+            }
+            catch (SQLException e) {
+                Msg.warning("Warm-up of database '{0}' failed: {1}", _name, e.getMessage());
+            }
+            finally {
+                _warmUpTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                _isWarmedUp = true;
+            }
+
+            if (isServerPrepare) {
+                Msg.info("Warm-up of database '{0}' finished in {1}ms ({2} connections pinged, " +
+                        "{3} statements prepared on the server).", _name, _warmUpTime, validated, statements);
+            }
+            else {
+                Msg.info("Warm-up of database '{0}' finished in {1}ms ({2} connections pinged, " +
+                        "statements not prepared since server side prepares are off).",
+                        _name, _warmUpTime, validated);
+            }
+        }
+
+        int warmUp(ConnectionPool pool) throws SQLException {
+
+            int count = Math.min(connections, pool.getSettings().getMaxSize());
+            List<PooledConnection> leased = new ArrayList<>(count);
+            int statements = 0;
+
+            try {
+                // hold all leases at once so that each is a separate connection
+                for (int i = 0; i < count; i++) {
+                    leased.add(pool.lease());
+                }
+
+                for (PooledConnection connection : leased) {
+
+                    // round trip so that each connection is known to be usable
+                    if (!connection.getConnection().isValid(WARM_UP_VALIDATION_TIMEOUT)) {
+                        connection.setBroken();
+                        continue;
+                    }
+
+                    validated++;
+
+                    StatementCache cache = connection.getStatementCache();
+
+                    for (String statementSql : sql) {
+                        cache.checkIn(statementSql, cache.checkOut(statementSql));
+                        statements++;
+                    }
+                }
+            }
+            finally {
+                for (PooledConnection connection : leased) {
+                    pool.release(connection);
+                }
+            }
+
+            return statements;
+        }
+    }
 }
@@ -0,0 +1,119 @@
+package com.jcwhatever.nucleus.providers.mysql;
+
+import com.jcwhatever.nucleus.utils.PreCon;
+import org.bukkit.plugin.Plugin;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Optional settings used when connecting to a database.
+ */
+public class DatabaseOptions {
+
+    private final List<String> _replicas = new ArrayList<>(3);
+    private final List<String> _warmUpSql = new ArrayList<>(10);
+    private Plugin _owner;
+    private int _warmUpConnections;
+
+    /**
+     * Get the plugin the database connections are accounted to.
+     *
+     * @return  The plugin or null if not set.
+     */
+    @Nullable
+    public Plugin getOwner() {
+        return _owner;
+    }
+
+    /**
+     * Set the plugin the database connections are accounted to.
+     *
+     * @param owner  The owning plugin.
+     *
+     * @return  Self for chaining.
+     */
+    public DatabaseOptions setOwner(@Nullable Plugin owner) {
+        _owner = owner;
+        return this;
+    }
+
+    /**
+     * Add the address of a read replica.
+     *
+     * <p>Queries executed outside of a transaction are routed to a
+     * healthy replica instead of the primary.</p>
+     *
+     * @param address  The replica address.
+     *
+     * @return  Self for chaining.
+     */
+    public DatabaseOptions addReplica(String address) {
+        PreCon.notNullOrEmpty(address);
+
+        _replicas.add(address);
+        return this;
+    }
+
+    /**
+     * Get the read replica addresses.
+     */
+    public List<String> getReplicas() {
+        return Collections.unmodifiableList(_replicas);
+    }
+
+    /**
+     * Get the number of connections opened before the database is loaded.
+     */
+    public int getWarmUpConnections() {
+        return _warmUpConnections;
+    }
+
+    /**
+     * Set the number of connections opened before the database is loaded.
+     *
+     * <p>Limited to the max pool size.</p>
+     *
+     * @param count  The number of connections. 0 to skip connection warm-up.
+     *
+     * @return  Self for chaining.
+     */
+    public DatabaseOptions setWarmUpConnections(int count) {
+        PreCon.positiveNumber(count);
+
+        _warmUpConnections = count;
+        return this;
+    }
+
+    /**
+     * Add SQL that is prepared on each warmed up connection before the
+     * database is loaded.
+     *
+     * <p>The statements are added to the connections prepared statement cache
+     * so the first executions do not pay the parse cost. Use {@code ?} for
+     * parameter values.</p>
+     *
+     * <p>The statements are only prepared when the driver properties enable
+     * server side prepared statements ({@code useServerPrepStmts}). Otherwise
+     * warm-up only opens and pings the connections.</p>
+     *
+     * @param sql  The statement SQL.
+     *
+     * @return  Self for chaining.
+     */
+    public DatabaseOptions addWarmUpSql(String sql) {
+        PreCon.notNullOrEmpty(sql);
+
+        _warmUpSql.add(sql);
+        return this;
+    }
+
+    /**
+     * Get the SQL prepared on each warmed up connection.
+     */
+    public List<String> getWarmUpSql() {
+        return Collections.unmodifiableList(_warmUpSql);
+    }
+}
@@ -0,0 +1,88 @@
+package com.jcwhatever.nucleus.providers.mysql;
+
+import java.util.Properties;
+
+/**
+ * Named sets of Connector/J connection properties.
+ *
+ * <p>Individual properties can be overridden in the provider data node.</p>
+ *
+ * <p>None of the profiles enable {@code useCursorFetch}. Query results are read after
+ * the connection is returned to the pool, so they must be fully buffered when the
+ * statement completes.</p>
+ */
+public enum DriverProfile {
+
+    /**
+     * No properties. Driver defaults and the connection format are used as is.
+     */
+    DEFAULT (new String[0]),
+
+    /**
+     * Small round trips to a nearby server. Server side prepared statements are
+     * cached and redundant session state changes are not sent.
+     */
+    LOW_LATENCY (new String[] {
+            "useServerPrepStmts", "true",
+            "cachePrepStmts", "true",
+            "prepStmtCacheSize", "250",
+            "prepStmtCacheSqlLimit", "2048",
+            "useLocalSessionState", "true",
+            "elideSetAutoCommits", "true",
+            "tcpNoDelay", "true"
+    }),
+
+    /**
+     * Large batched writes. Batches are rewritten into multi-row statements,
+     * which requires client side prepared statements, and socket buffers are enlarged.
+     *
+     * <p>The driver does not report the rows updated by each statement of a rewritten
+     * batch. The rows updated of those statements are {@link java.sql.Statement#SUCCESS_NO_INFO}.</p>
+     */
+    BULK_THROUGHPUT (new String[] {
+            "useServerPrepStmts", "false",
+            "cachePrepStmts", "true",
+            "prepStmtCacheSize", "250",
+            "prepStmtCacheSqlLimit", "8192",
+            "rewriteBatchedStatements", "true",
+            "useLocalSessionState", "true",
+            "tcpSndBuf", "262144",
+            "tcpRcvBuf", "262144"
+    }),
+
+    /**
+     * High latency or metered links. Traffic is compressed and prepared
+     * statements are kept on the server to avoid resending SQL text.
+     */
+    WAN (new String[] {
+            "useServerPrepStmts", "true",
+            "cachePrepStmts", "true",
+            "prepStmtCacheSize", "250",
+            "prepStmtCacheSqlLimit", "2048",
+            "useCompression", "true",
+            "useLocalSessionState", "true",
+            "elideSetAutoCommits", "true",
+            "tcpRcvBuf", "131072",
+            "connectTimeout", "10000"
+    });
+
+    private final String[] _properties;
+
+    DriverProfile(String[] properties) {
+        _properties = properties;
+    }
+
+    /**
+     * Get a new copy of the profile properties.
+     */
+    public Properties getProperties() {
+
+        Properties properties = new Properties();
+
+        for (int i = 0; i < _properties.length; i += 2) {
+            properties.setProperty(_properties[i], _properties[i + 1]);
+        }
+
+        return properties;
+    }
+}
@@ -1,7 +1,6 @@
 package com.jcwhatever.nucleus.providers.mysql;
 
-import com.jcwhatever.nucleus.utils.ThreadSingletons;
-import com.jcwhatever.nucleus.utils.ThreadSingletons.ISingletonFactory;
+import com.jcwhatever.nucleus.utils.PreCon;
 
 import java.sql.Array;
 import java.sql.Blob;
@@ -9,7 +8,6 @@ import java.sql.CallableStatement;
 import java.sql.Clob;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
-import java.sql.DriverManager;
 import java.sql.NClob;
 import java.sql.PreparedStatement;
 import java.sql.SQLClientInfoException;
@@ -25,31 +23,162 @@ import java.util.concurrent.Executor;
 
 /**
  * Implementation wrapper for {@link Connection}'s
+ *
+ * <p>Physical connections are held in a bounded {@link ConnectionPool}. A thread
+ * that has called {@link #lease} uses its leased connection until it calls
+ * {@link #release}. Calls made without a lease use a connection the pool keeps for
+ * the calling thread, so calls from different threads never share a connection.
+ * These connections come from a small separate budget and are closed when the
+ * thread stops using them. See {@link ConnectionPool#getThreadConnection}.</p>
+ *
+ * <p>The pool may be shared with other {@link MySqlConnection}'s that connect
+ * to the same database with the same credentials.</p>
  */
 public class MySqlConnection implements Connection {
 
-    private final String _address;
-    private final String _databaseName;
-    private final String _user;
-    private final String _password;
-    private final ThreadConnections _pool;
+    private final ConnectionPool _pool;
+    private final ConnectionUsage _usage;
+    private final ThreadLocal<Lease> _leases = new ThreadLocal<>();
+
+    private volatile boolean _isPipelineEnabled;
 
     /**
      * Constructor.
      *
-     * @param address   The database address.
-     * @param name      The name of the database.
-     * @param user      The login name.
-     * @param password  The login password.
+     * @param pool   The connection pool.
+     * @param usage  The usage account leases are recorded in.
      */
-    public MySqlConnection(String address, String name, String user, String password) {
+    public MySqlConnection(ConnectionPool pool, ConnectionUsage usage) {
+        PreCon.notNull(pool);
+        PreCon.notNull(usage);
+
+        _pool = pool;
+        _usage = usage;
+    }
 
-        _address = address;
-        _databaseName = name;
-        _user = user;
-        _password = password;
+    /**
+     * Get the connection pool.
+     */
+    public ConnectionPool getPool() {
+        return _pool;
+    }
+
+    /**
+     * Lease a pooled connection for the current thread.
+     *
+     * <p>Calls on the current thread use the leased connection until {@link #release}
+     * is invoked. Leases are reentrant; the connection is returned to the pool when
+     * each call to lease is matched by a call to release.</p>
+     *
+     * @throws SQLException if a connection could not be leased.
+     */
+    public void lease() throws SQLException {
+        lease(_pool);
+    }
 
-        _pool = new ThreadConnections();
+    /**
+     * Lease a connection from the specified pool for the current thread.
+     *
+     * <p>Used to route the calls made on the current thread to another server,
+     * such as a read replica of the same database.</p>
+     *
+     * <p>If the current thread already has a lease, the existing lease is reentered
+     * and the specified pool is not used.</p>
+     *
+     * @param pool  The pool to lease from.
+     *
+     * @throws SQLException if a connection could not be leased.
+     */
+    public void lease(ConnectionPool pool) throws SQLException {
+        PreCon.notNull(pool);
+
+        Lease lease = _leases.get();
+        if (lease != null) {
+            lease.depth++;
+            return;
+        }
+
+        _leases.set(new Lease(pool.lease()));
+        _usage.onLease();
+    }
+
+    /**
+     * Release the connection leased by the current thread.
+     *
+     * <p>An open transaction left on the connection is rolled back before
+     * the connection is returned to the pool.</p>
+     *
+     * @throws IllegalStateException if the current thread does not have a lease.
+     */
+    public void release() {
+
+        Lease lease = _leases.get();
+        if (lease == null)
+            throw new IllegalStateException("The current thread does not have a leased connection.");
+
+        lease.depth--;
+        if (lease.depth > 0)
+            return;
+
+        _leases.remove();
+        _usage.onRelease(System.nanoTime() - lease.startTime);
+
+        resetState(lease.connection);
+        lease.connection.getPool().release(lease.connection);
+    }
+
+    /**
+     * Get the prepared statement cache of the connection used by the current thread.
+     */
+    public StatementCache getStatementCache() {
+        return pooled().getStatementCache();
+    }
+
+    /**
+     * Report an exception thrown while using the connection leased by
+     * the current thread.
+     *
+     * <p>Connection errors cause the leased connection to be closed when it
+     * is released instead of being returned to the pool.</p>
+     *
+     * @param exception  The exception.
+     *
+     * @return  True if the error occurred on a connection leased without validation,
+     * in which case the work can be retried on a new lease.
+     */
+    public boolean onError(SQLException exception) {
+        PreCon.notNull(exception);
+
+        Lease lease = _leases.get();
+        return lease != null && lease.connection.getPool().onError(lease.connection, exception);
+    }
+
+    /**
+     * Determine if consecutive statements can be sent to the server
+     * in a single multi-statement request.
+     */
+    public boolean isPipelineEnabled() {
+        return _isPipelineEnabled;
+    }
+
+    /**
+     * Set consecutive statements to be sent to the server in a single
+     * multi-statement request.
+     *
+     * <p>Requires the driver properties {@code allowMultiQueries=true} and client
+     * side prepared statements.</p>
+     *
+     * @param isEnabled  True to enable pipelining.
+     */
+    public void setPipelineEnabled(boolean isEnabled) {
+        _isPipelineEnabled = isEnabled;
+    }
+
+    /**
+     * Get the usage account leases are recorded in.
+     */
+    public ConnectionUsage getUsage() {
+        return _usage;
     }
 
     @Override
@@ -74,12 +203,12 @@ public class MySqlConnection implements Connection {
 
     @Override
     public void setAutoCommit(boolean autoCommit) throws SQLException {
-        connection().setAutoCommit(autoCommit);
+        pooled().setAutoCommit(autoCommit);
     }
 
     @Override
     public boolean getAutoCommit() throws SQLException {
-        return connection().getAutoCommit();
+        return pooled().getAutoCommit();
     }
 
     @Override
@@ -109,12 +238,12 @@ public class MySqlConnection implements Connection {
 
     @Override
     public void setReadOnly(boolean readOnly) throws SQLException {
-        connection().setReadOnly(readOnly);
+        pooled().setReadOnly(readOnly);
     }
 
     @Override
     public boolean isReadOnly() throws SQLException {
-        return connection().isReadOnly();
+        return pooled().isReadOnly();
     }
 
     @Override
@@ -129,12 +258,12 @@ public class MySqlConnection implements Connection {
 
     @Override
     public void setTransactionIsolation(int level) throws SQLException {
-        connection().setTransactionIsolation(level);
+        pooled().setTransactionIsolation(level);
     }
 
     @Override
     public int getTransactionIsolation() throws SQLException {
-        return connection().getTransactionIsolation();
+        return pooled().getTransactionIsolation();
     }
 
     @Override
@@ -338,60 +467,37 @@ public class MySqlConnection implements Connection {
     }
 
     private Connection connection() {
-        return _pool.get();
+        return pooled().getConnection();
     }
 
-    private class ConnectionFactory implements ISingletonFactory<Connection> {
+    private PooledConnection pooled() {
 
-        @Override
-        public Connection create(Thread thread) {
-            return createConnection();
-        }
-    }
+        Lease lease = _leases.get();
+        if (lease != null)
+            return lease.connection;
 
-    private Connection createConnection() {
+        return _pool.getThreadConnection();
+    }
 
-        String connectionString = MySqlProvider.getProvider().getConnectionString(
-                _address, _databaseName, _user, _password
-        );
+    private void resetState(PooledConnection pooled) {
 
         try {
-            return DriverManager.getConnection(connectionString);
+            if (!pooled.getAutoCommit()) {
+                pooled.getConnection().rollback();
+                pooled.setAutoCommit(true);
+            }
         } catch (SQLException e) {
-            e.printStackTrace();
-            throw new RuntimeException(e);
+            pooled.setBroken();
         }
     }
 
-    private class ThreadConnections extends ThreadSingletons<Connection> {
-
-        /**
-         * Constructor.
-         */
-        public ThreadConnections() {
-            super(new ConnectionFactory());
-        }
-
-        @Override
-        public Connection get() {
-            Connection connection = super.get();
-
-            try {
-
-                if (connection.isClosed() || !connection.isValid(4)) {
-                    connection.close();
-
-                    Connection connection2 = createConnection();
-                    reset(connection2);
-                    return connection2;
-                }
-
-            } catch (SQLException e) {
-                e.printStackTrace();
-                throw new RuntimeException(e);
-            }
+    private static class Lease {
+        final PooledConnection connection;
+        final long startTime = System.nanoTime();
+        int depth = 1;
 
-            return connection;
+        Lease(PooledConnection connection) {
+            this.connection = connection;
         }
     }
 }
@@ -27,7 +27,9 @@ import com.jcwhatever.nucleus.providers.mysql.data.numeric.TinyIntSigned;
 import com.jcwhatever.nucleus.providers.mysql.data.numeric.TinyIntUnsigned;
 import com.jcwhatever.nucleus.providers.mysql.datanode.SqlDataNodeBuilder;
 import com.jcwhatever.nucleus.providers.mysql.statements.FinalizedStatements;
+import com.jcwhatever.nucleus.providers.mysql.statements.OverflowPolicy;
 import com.jcwhatever.nucleus.providers.mysql.statements.StatementExecutor;
+import com.jcwhatever.nucleus.providers.mysql.statements.StatementJournal;
 import com.jcwhatever.nucleus.providers.mysql.statements.Transaction;
 import com.jcwhatever.nucleus.providers.sql.ISqlDatabase;
 import com.jcwhatever.nucleus.providers.sql.ISqlDbType;
@@ -48,12 +50,18 @@ import com.jcwhatever.nucleus.utils.text.TextUtils;
 import org.bukkit.plugin.Plugin;
 
 import javax.annotation.Nullable;
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 
 /**
  * Implementation of {@link ISqlProvider}.
@@ -66,6 +74,28 @@ public class MySqlProvider extends Provider implements ISqlProvider {
     private static final Map<Class<?>, ISqlDbType> _primitiveDataTypesUnsigned = new HashMap<>(7);
     private static final Map<Class<?>, ISqlDbType> _dataTypesByClass = new HashMap<>(35);
 
+    // Connector/J 5.1 connection getters of the driver properties that can be checked
+    private static final Map<String, String> _driverPropertyGetters = new HashMap<>(25);
+
+    static {
+        _driverPropertyGetters.put("allowMultiQueries", "getAllowMultiQueries");
+        _driverPropertyGetters.put("cachePrepStmts", "getCachePreparedStatements");
+        _driverPropertyGetters.put("connectTimeout", "getConnectTimeout");
+        _driverPropertyGetters.put("continueBatchOnError", "getContinueBatchOnError");
+        _driverPropertyGetters.put("elideSetAutoCommits", "getElideSetAutoCommits");
+        _driverPropertyGetters.put("prepStmtCacheSize", "getPreparedStatementCacheSize");
+        _driverPropertyGetters.put("prepStmtCacheSqlLimit", "getPreparedStatementCacheSqlLimit");
+        _driverPropertyGetters.put("rewriteBatchedStatements", "getRewriteBatchedStatements");
+        _driverPropertyGetters.put("socketTimeout", "getSocketTimeout");
+        _driverPropertyGetters.put("tcpNoDelay", "getTcpNoDelay");
+        _driverPropertyGetters.put("tcpRcvBuf", "getTcpRcvBuf");
+        _driverPropertyGetters.put("tcpSndBuf", "getTcpSndBuf");
+        _driverPropertyGetters.put("useCompression", "getUseCompression");
+        _driverPropertyGetters.put("useLocalSessionState", "getUseLocalSessionState");
+        _driverPropertyGetters.put("useLocalTransactionState", "getUseLocalTransactionState");
+        _driverPropertyGetters.put("useServerPrepStmts", "getUseServerPreparedStmts");
+    }
+
     private static ISqlDbType add(ISqlDbType type) {
         _dataTypesByName.put(type.getName(), type);
 
@@ -111,11 +141,152 @@ public class MySqlProvider extends Provider implements ISqlProvider {
         return _instance;
     }
 
+    private final List<Database> _databases = new ArrayList<>(5);
     private StatementExecutor _statementExecutor;
+    private ConnectionPoolSettings _poolSettings;
+    private ConnectionPoolRegistry _poolRegistry;
+    private DriverProfile _driverProfile = DriverProfile.DEFAULT;
+    private int _queryTimeout = 0;
     private String _driver = "com.mysql.jdbc.Driver";
     private String _connectionFormat =
             "jdbc:mysql://{0: address}/{1: databaseName}?user={2: username}&password={3: password}";
 
+    /**
+     * Get the statement executor.
+     *
+     * <p>Provides queue metrics for the executor threads.</p>
+     */
+    public StatementExecutor getStatementExecutor() {
+        return _statementExecutor;
+    }
+
+    /**
+     * Get the settings used for database connection pools.
+     */
+    public ConnectionPoolSettings getPoolSettings() {
+        return _poolSettings;
+    }
+
+    /**
+     * Get the registry of connection pools shared by all databases.
+     *
+     * <p>Provides the global connection limit and per plugin usage.</p>
+     */
+    public ConnectionPoolRegistry getPoolRegistry() {
+        return _poolRegistry;
+    }
+
+    /**
+     * Get the driver tuning profile used for a database.
+     *
+     * <p>Set globally using the {@code driver-profile} key or per database
+     * using {@code databases.<name>.driver-profile}.</p>
+     *
+     * @param databaseName  The name of the database.
+     */
+    public DriverProfile getDriverProfile(String databaseName) {
+        PreCon.notNull(databaseName);
+
+        return getDataNode().getEnum(
+                "databases." + databaseName + ".driver-profile", _driverProfile, DriverProfile.class);
+    }
+
+    /**
+     * Get the default query timeout in seconds used for a database.
+     *
+     * <p>Set globally using the {@code query-timeout-seconds} key or per database
+     * using {@code databases.<name>.query-timeout-seconds}. 0 for no timeout,
+     * which is the default.</p>
+     *
+     * @param databaseName  The name of the database.
+     */
+    public int getQueryTimeout(String databaseName) {
+        PreCon.notNull(databaseName);
+
+        return Math.max(0, getDataNode().getInteger(
+                "databases." + databaseName + ".query-timeout-seconds", _queryTimeout));
+    }
+
+    /**
+     * Get the driver connection properties used for a database.
+     *
+     * <p>The properties of the database driver profile are overridden by the
+     * {@code driver-properties} node and then by the
+     * {@code databases.<name>.driver-properties} node.</p>
+     *
+     * @param databaseName  The name of the database.
+     */
+    public Properties getDriverProperties(String databaseName) {
+        PreCon.notNull(databaseName);
+
+        Properties properties = getDriverProfile(databaseName).getProperties();
+
+        IDataNode dataNode = getDataNode();
+        putProperties(dataNode.getNode("driver-properties"), properties);
+        putProperties(dataNode.getNode("databases." + databaseName + ".driver-properties"), properties);
+
+        return properties;
+    }
+
+    /**
+     * Get the driver connection properties that are not in effect on a connection.
+     *
+     * <p>The effective value of each property is read from the driver connection
+     * unwrapped from the specified connection using the getter Connector/J 5.1
+     * declares for the property. Properties without a known getter, and drivers
+     * that do not declare the getter, are not checked.</p>
+     *
+     * @param connection  A connection opened with the properties.
+     * @param properties  The properties to check.
+     *
+     * @return  Property names mapped to the reason the property was not applied.
+     */
+    public Map<String, String> checkDriverProperties(Connection connection, Properties properties) {
+        PreCon.notNull(connection);
+        PreCon.notNull(properties);
+
+        Map<String, String> result = new HashMap<>(5);
+
+        if (properties.isEmpty())
+            return result;
+
+        Connection driverConnection;
+        try {
+            driverConnection = connection.unwrap(Connection.class);
+        } catch (SQLException e) {
+            result.put("*", "Failed to unwrap driver connection: " + e.getMessage());
+            return result;
+        }
+
+        for (String name : properties.stringPropertyNames()) {
+
+            String getterName = _driverPropertyGetters.get(name);
+            if (getterName == null)
+                continue;
+
+            String value = properties.getProperty(name);
+            Object effective;
+
+            try {
+                Method getter = driverConnection.getClass().getMethod(getterName);
+
+                effective = getter.invoke(driverConnection);
+
+            } catch (NoSuchMethodException e) {
+                // the driver does not expose the value
+                continue;
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                result.put(name, "failed to read value from driver: " + e.getMessage());
+                continue;
+            }
+
+            if (!isSameValue(effective, value))
+                result.put(name, "connection uses '" + effective + "' instead of '" + value + '\'');
+        }
+
+        return result;
+    }
+
     /**
      * Get a database connection string.
      *
@@ -182,12 +353,34 @@ public class MySqlProvider extends Provider implements ISqlProvider {
     public IFutureResult<ISqlDatabase> connect(
             String address, String databaseName, String userName, String password) {
 
+        return connect(address, databaseName, userName, password, new DatabaseOptions());
+    }
+
+    /**
+     * Connect to a database.
+     *
+     * @param address       The database address.
+     * @param databaseName  The name of the database.
+     * @param userName      The login name.
+     * @param password      The login password.
+     * @param options       The connection options.
+     */
+    public IFutureResult<ISqlDatabase> connect(
+            String address, String databaseName, String userName, String password,
+            DatabaseOptions options) {
+
         PreCon.notNullOrEmpty(address);
         PreCon.notNull(databaseName);
         PreCon.notNull(userName);
         PreCon.notNull(password);
+        PreCon.notNull(options);
+
+        final Database database = new Database(address, databaseName, userName, password, options);
+
+        synchronized (_databases) {
+            _databases.add(database);
+        }
 
-        final Database database = new Database(address, databaseName, userName, password);
         final FutureResultAgent<ISqlDatabase> agent = new FutureResultAgent<>();
 
         DependencyRunner<IDependantRunnable> runner =
@@ -268,6 +461,8 @@ public class MySqlProvider extends Provider implements ISqlProvider {
 
         _driver = dataNode.getString("driver", _driver);
         _connectionFormat = dataNode.getString("connection-format", _connectionFormat);
+        _driverProfile = dataNode.getEnum("driver-profile", _driverProfile, DriverProfile.class);
+        _queryTimeout = Math.max(0, dataNode.getInteger("query-timeout-seconds", _queryTimeout));
 
         try {
             Class.forName (_driver).newInstance();
@@ -275,17 +470,87 @@ public class MySqlProvider extends Provider implements ISqlProvider {
             throw new RuntimeException("Database driver '" + _driver + "' not found.");
         }
 
+        int queueCapacity = dataNode.getInteger("executor.queue-capacity", StatementExecutor.DEFAULT_CAPACITY);
+        OverflowPolicy overflowPolicy = dataNode.getEnum(
+                "executor.overflow-policy", OverflowPolicy.JOURNAL, OverflowPolicy.class);
+        long blockTimeout = dataNode.getLong("executor.block-timeout-ms", 1000);
+        String journalFile = dataNode.getString("executor.journal-file", "mysql-journal.sql");
+        long deliveryBudget = dataNode.getLong(
+                "executor.delivery-budget-ms", StatementExecutor.DEFAULT_DELIVERY_BUDGET);
+        long drainTimeout = dataNode.getLong(
+                "executor.drain-timeout-ms", StatementExecutor.DEFAULT_DRAIN_TIMEOUT);
+        int groupCommitSize = dataNode.getInteger("executor.group-commit-size", 0);
+        long groupCommitWindow = dataNode.getLong(
+                "executor.group-commit-window-ms", StatementExecutor.DEFAULT_GROUP_COMMIT_WINDOW);
+
+        _poolSettings = new ConnectionPoolSettings(
+                dataNode.getInteger("pool.min-size", 2),
+                dataNode.getInteger("pool.max-size", 10),
+                dataNode.getLong("pool.idle-timeout-ms", 60000),
+                dataNode.getLong("pool.max-lifetime-ms", 1800000),
+                dataNode.getLong("pool.lease-timeout-ms", 5000),
+                dataNode.getLong("pool.validation-interval-ms", 30000),
+                dataNode.getInteger("pool.statement-cache-size", 64));
+
+        int maxConnections = dataNode.getInteger("pool.global-max-connections", 50);
+
         dataNode.save();
 
+        _poolRegistry = new ConnectionPoolRegistry(_poolSettings, maxConnections);
+
         _statementExecutor = new StatementExecutor(4);
+        _statementExecutor.setCapacity(queueCapacity);
+        _statementExecutor.setOverflowPolicy(overflowPolicy);
+        _statementExecutor.setBlockTimeout(blockTimeout);
+        _statementExecutor.setJournal(new StatementJournal(
+                new File(Nucleus.getPlugin().getDataFolder(), journalFile)));
+        _statementExecutor.setDeliveryBudget(deliveryBudget);
+        _statementExecutor.setDrainTimeout(drainTimeout);
+        _statementExecutor.setGroupCommitSize(groupCommitSize);
+        _statementExecutor.setGroupCommitWindow(groupCommitWindow);
     }
 
     @Override
     protected void onDisable() {
         _statementExecutor.dispose();
+
+        synchronized (_databases) {
+            for (Database database : _databases) {
+                database.dispose();
+            }
+            _databases.clear();
+        }
+
+        _poolRegistry.close();
+
         _instance = null;
     }
 
+    private static void putProperties(@Nullable IDataNode node, Properties properties) {
+        if (node == null)
+            return;
+
+        for (String name : node.getSubNodeNames()) {
+            String value = node.getString(name);
+            if (value != null)
+                properties.setProperty(name, value);
+        }
+    }
+
+    /*
+     * Determine if the effective value of a driver property matches the configured value.
+     * The driver accepts "yes" and "no" for boolean properties.
+     */
+    private static boolean isSameValue(@Nullable Object effective, String value) {
+
+        if (effective instanceof Boolean) {
+            boolean isTrue = "true".equalsIgnoreCase(value) || "yes".equalsIgnoreCase(value);
+            return (Boolean) effective == isTrue;
+        }
+
+        return String.valueOf(effective).equalsIgnoreCase(value);
+    }
+
     @Override
     public ISqlDbType getBoolean() {
         return BOOLEAN;
@@ -0,0 +1,238 @@
+package com.jcwhatever.nucleus.providers.mysql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A physical connection owned by a {@link ConnectionPool}.
+ *
+ * <p>Tracks the session state of the connection so that calls that would not
+ * change the auto commit mode, transaction isolation or read only flag are not
+ * sent to the server. State changed using SQL text, such as {@code SET autocommit},
+ * is not tracked.</p>
+ */
+public class PooledConnection {
+
+    private final ConnectionPool _pool;
+    private final Connection _connection;
+    private final long _createdTime;
+    private final StatementCache _statementCache;
+
+    private volatile long _lastUsedTime;
+    private volatile boolean _isBroken;
+    private volatile boolean _isValidated = true;
+
+    // session state, null if unknown
+    private volatile Boolean _autoCommit;
+    private volatile Boolean _readOnly;
+    private volatile Integer _isolation;
+
+    /**
+     * Constructor.
+     *
+     * @param pool        The owning pool.
+     * @param connection  The physical connection.
+     */
+    PooledConnection(ConnectionPool pool, Connection connection) {
+        _pool = pool;
+        _connection = connection;
+        _createdTime = System.currentTimeMillis();
+        _lastUsedTime = _createdTime;
+        _statementCache = new StatementCache(
+                pool, connection, pool.getSettings().getStatementCacheSize());
+    }
+
+    /**
+     * Get the owning pool.
+     */
+    public ConnectionPool getPool() {
+        return _pool;
+    }
+
+    /**
+     * Get the physical connection.
+     */
+    public Connection getConnection() {
+        return _connection;
+    }
+
+    /**
+     * Get the connections prepared statement cache.
+     */
+    public StatementCache getStatementCache() {
+        return _statementCache;
+    }
+
+    /**
+     * Get the time the connection was opened.
+     */
+    public long getCreatedTime() {
+        return _createdTime;
+    }
+
+    /**
+     * Get the time the connection was last returned to the pool.
+     */
+    public long getLastUsedTime() {
+        return _lastUsedTime;
+    }
+
+    /**
+     * Determine if the connection has been marked as broken.
+     */
+    public boolean isBroken() {
+        return _isBroken;
+    }
+
+    /**
+     * Mark the connection as broken so that it is closed
+     * instead of being returned to the pool.
+     */
+    public void setBroken() {
+        _isBroken = true;
+    }
+
+    /**
+     * Determine if the connection was validated when it was last leased.
+     *
+     * <p>Connections that were used recently are leased without validation.</p>
+     */
+    public boolean isValidated() {
+        return _isValidated;
+    }
+
+    /**
+     * Set the auto commit mode of the session.
+     *
+     * <p>The call is skipped if the session is already in the specified mode.</p>
+     *
+     * @param autoCommit  True to enable auto commit.
+     *
+     * @throws SQLException
+     */
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+
+        Boolean current = _autoCommit;
+        if (current != null && current == autoCommit) {
+            _pool.onSessionCallSkipped();
+            return;
+        }
+
+        _autoCommit = null;
+        _connection.setAutoCommit(autoCommit);
+        _autoCommit = autoCommit;
+    }
+
+    /**
+     * Get the auto commit mode of the session.
+     *
+     * @throws SQLException
+     */
+    public boolean getAutoCommit() throws SQLException {
+
+        Boolean current = _autoCommit;
+        if (current != null) {
+            _pool.onSessionCallSkipped();
+            return current;
+        }
+
+        boolean autoCommit = _connection.getAutoCommit();
+        _autoCommit = autoCommit;
+        return autoCommit;
+    }
+
+    /**
+     * Set the read only flag of the session.
+     *
+     * <p>The call is skipped if the session already has the specified flag.</p>
+     *
+     * @param readOnly  True to set the session read only.
+     *
+     * @throws SQLException
+     */
+    public void setReadOnly(boolean readOnly) throws SQLException {
+
+        Boolean current = _readOnly;
+        if (current != null && current == readOnly) {
+            _pool.onSessionCallSkipped();
+            return;
+        }
+
+        _readOnly = null;
+        _connection.setReadOnly(readOnly);
+        _readOnly = readOnly;
+    }
+
+    /**
+     * Get the read only flag of the session.
+     *
+     * @throws SQLException
+     */
+    public boolean isReadOnly() throws SQLException {
+
+        Boolean current = _readOnly;
+        if (current != null) {
+            _pool.onSessionCallSkipped();
+            return current;
+        }
+
+        boolean readOnly = _connection.isReadOnly();
+        _readOnly = readOnly;
+        return readOnly;
+    }
+
+    /**
+     * Set the transaction isolation level of the session.
+     *
+     * <p>The call is skipped if the session already has the specified level.</p>
+     *
+     * @param level  The {@link Connection} isolation level constant.
+     *
+     * @throws SQLException
+     */
+    public void setTransactionIsolation(int level) throws SQLException {
+
+        Integer current = _isolation;
+        if (current != null && current == level) {
+            _pool.onSessionCallSkipped();
+            return;
+        }
+
+        _isolation = null;
+        _connection.setTransactionIsolation(level);
+        _isolation = level;
+    }
+
+    /**
+     * Get the transaction isolation level of the session.
+     *
+     * @throws SQLException
+     */
+    public int getTransactionIsolation() throws SQLException {
+
+        Integer current = _isolation;
+        if (current != null) {
+            _pool.onSessionCallSkipped();
+            return current;
+        }
+
+        int level = _connection.getTransactionIsolation();
+        _isolation = level;
+        return level;
+    }
+
+    void setValidated(boolean isValidated) {
+        _isValidated = isValidated;
+    }
+
+    void setLastUsed(long time) {
+        _lastUsedTime = time;
+    }
+
+    void close() {
+        _statementCache.close();
+        try {
+            _connection.close();
+        } catch (SQLException ignore) {}
+    }
+}
@@ -0,0 +1,173 @@
+package com.jcwhatever.nucleus.providers.mysql;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read replicas of a {@link Database}.
+ *
+ * <p>Replicas are selected round robin. A replica that fails to provide a
+ * connection or fails with a connection error is skipped for a backoff
+ * period that doubles with each consecutive failure.</p>
+ */
+public class ReplicaSet {
+
+    private static final long MIN_BACKOFF = 1000;
+    private static final long MAX_BACKOFF = 60000;
+
+    private final List<Replica> _replicas;
+    private final AtomicInteger _next = new AtomicInteger();
+
+    /**
+     * Constructor.
+     *
+     * @param addresses   The replica addresses.
+     * @param name        The name of the database.
+     * @param user        The login name.
+     * @param password    The login password.
+     * @param properties  The driver connection properties.
+     */
+    ReplicaSet(Collection<String> addresses, String name, String user, String password,
+               Properties properties) {
+
+        List<Replica> replicas = new ArrayList<>(addresses.size());
+
+        for (String address : addresses) {
+            replicas.add(new Replica(address, name, user, password, properties));
+        }
+
+        _replicas = Collections.unmodifiableList(replicas);
+    }
+
+    /**
+     * Get the replicas.
+     */
+    public List<Replica> getReplicas() {
+        return _replicas;
+    }
+
+    /**
+     * Select the next healthy replica.
+     *
+     * @return  The replica or null if no replica is healthy.
+     */
+    @Nullable
+    public Replica select() {
+
+        int size = _replicas.size();
+        if (size == 0)
+            return null;
+
+        long now = System.currentTimeMillis();
+        int start = (_next.getAndIncrement() & Integer.MAX_VALUE) % size;
+
+        for (int i = 0; i < size; i++) {
+            Replica replica = _replicas.get((start + i) % size);
+            if (replica.isHealthy(now))
+                return replica;
+        }
+
+        return null;
+    }
+
+    /**
+     * Close all replica connection pools.
+     */
+    void close() {
+        for (Replica replica : _replicas) {
+            MySqlProvider.getProvider().getPoolRegistry().release(replica._pool);
+        }
+    }
+
+    /**
+     * A single read replica.
+     */
+    public static class Replica {
+
+        private final String _address;
+        private final ConnectionPool _pool;
+        private final AtomicInteger _consecutiveFailures = new AtomicInteger();
+        private final AtomicLong _failures = new AtomicLong();
+        private final AtomicLong _routed = new AtomicLong();
+
+        private volatile long _backoffUntil;
+
+        Replica(String address, String name, String user, String password,
+                Properties properties) {
+
+            _address = address;
+            _pool = MySqlProvider.getProvider().getPoolRegistry().acquire(
+                    address, name, user, password, properties);
+        }
+
+        /**
+         * Get the replica address.
+         */
+        public String getAddress() {
+            return _address;
+        }
+
+        /**
+         * Get the replica connection pool.
+         */
+        public ConnectionPool getPool() {
+            return _pool;
+        }
+
+        /**
+         * Get the number of units of work successfully executed on the replica.
+         */
+        public long getRoutedCount() {
+            return _routed.get();
+        }
+
+        /**
+         * Get the total number of failures.
+         */
+        public long getFailureCount() {
+            return _failures.get();
+        }
+
+        /**
+         * Determine if the replica is currently used for queries.
+         */
+        public boolean isHealthy() {
+            return isHealthy(System.currentTimeMillis());
+        }
+
+        /**
+         * Record a successful execution.
+         */
+        public void onSuccess() {
+            _routed.incrementAndGet();
+            _consecutiveFailures.set(0);
+        }
+
+        /**
+         * Record a failure and start the backoff period.
+         */
+        public void onFailure() {
+            _failures.incrementAndGet();
+
+            int failures = _consecutiveFailures.incrementAndGet();
+            long backoff = Math.min(MAX_BACKOFF, MIN_BACKOFF << Math.min(failures - 1, 16));
+
+            _backoffUntil = System.currentTimeMillis() + backoff;
+        }
+
+        boolean isHealthy(long now) {
+            return now >= _backoffUntil;
+        }
+
+        @Override
+        public String toString() {
+            return _address;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.jcwhatever.nucleus.providers.mysql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * LRU cache of {@link PreparedStatement}'s for a single {@link PooledConnection}.
+ *
+ * <p>Statements are keyed by SQL text. A statement is removed from the cache while
+ * checked out so it is never used by two executions at once, and returned when
+ * the execution, or the query result it produced, is finished.</p>
+ *
+ * <p>Evicted statements are closed by the thread that next checks out a statement
+ * so that a check in from another thread never waits on the connection.</p>
+ */
+public class StatementCache {
+
+    private final ConnectionPool _pool;
+    private final Connection _connection;
+    private final int _capacity;
+    private final Map<String, PreparedStatement> _statements;
+    private final List<PreparedStatement> _pendingClose = new ArrayList<>(5);
+
+    private boolean _isClosed;
+
+    /**
+     * Constructor.
+     *
+     * @param pool        The pool that owns the connection.
+     * @param connection  The physical connection.
+     * @param capacity    The max number of cached statements. 0 disables the cache.
+     */
+    StatementCache(ConnectionPool pool, Connection connection, final int capacity) {
+        _pool = pool;
+        _connection = connection;
+        _capacity = capacity;
+        _statements = new LinkedHashMap<String, PreparedStatement>(
+                Math.max(16, capacity + capacity / 3), 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Entry<String, PreparedStatement> eldest) {
+
+                if (size() <= capacity)
+                    return false;
+
+                _pendingClose.add(eldest.getValue());
+                _pool.onStatementEvicted();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Get the max number of cached statements.
+     */
+    public int getCapacity() {
+        return _capacity;
+    }
+
+    /**
+     * Get the number of statements currently in the cache.
+     */
+    public synchronized int size() {
+        return _statements.size();
+    }
+
+    /**
+     * Check out a prepared statement for the specified SQL.
+     *
+     * <p>The statement must be returned using {@link #checkIn}.
+     * Must be invoked from the thread using the connection.</p>
+     *
+     * @param sql  The statement SQL.
+     *
+     * @throws SQLException
+     */
+    public PreparedStatement checkOut(String sql) throws SQLException {
+
+        PreparedStatement statement;
+        List<PreparedStatement> pendingClose = null;
+
+        synchronized (this) {
+            statement = _statements.remove(sql);
+
+            if (!_pendingClose.isEmpty()) {
+                pendingClose = new ArrayList<>(_pendingClose);
+                _pendingClose.clear();
+            }
+        }
+
+        if (pendingClose != null)
+            closeAll(pendingClose);
+
+        if (statement != null && !statement.isClosed()) {
+            _pool.onStatementCacheHit();
+            statement.clearParameters();
+            return statement;
+        }
+
+        _pool.onStatementCacheMiss();
+        return _connection.prepareStatement(sql);
+    }
+
+    /**
+     * Return a checked out statement.
+     *
+     * <p>Statements that cannot be cached are closed.</p>
+     *
+     * @param sql        The statement SQL.
+     * @param statement  The statement.
+     */
+    public void checkIn(String sql, PreparedStatement statement) {
+
+        synchronized (this) {
+
+            if (!_isClosed && _capacity > 0 && !_statements.containsKey(sql)) {
+                _statements.put(sql, statement);
+                return;
+            }
+
+            if (!_isClosed) {
+                _pendingClose.add(statement);
+                return;
+            }
+        }
+
+        close(statement);
+    }
+
+    /**
+     * Close all cached statements.
+     */
+    void close() {
+
+        List<PreparedStatement> statements;
+
+        synchronized (this) {
+            _isClosed = true;
+            statements = new ArrayList<>(_statements.size() + _pendingClose.size());
+            statements.addAll(_statements.values());
+            statements.addAll(_pendingClose);
+            _statements.clear();
+            _pendingClose.clear();
+        }
+
+        closeAll(statements);
+    }
+
+    private void closeAll(List<PreparedStatement> statements) {
+        for (PreparedStatement statement : statements) {
+            close(statement);
+        }
+    }
+
+    private void close(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignore) {}
+    }
+}
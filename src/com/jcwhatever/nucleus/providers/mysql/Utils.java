@@ -4,13 +4,13 @@ import com.jcwhatever.nucleus.providers.mysql.compound.CompoundDataManager;
 import com.jcwhatever.nucleus.providers.mysql.compound.CompoundValue;
 import com.jcwhatever.nucleus.providers.mysql.compound.ICompoundDataHandler;
 import com.jcwhatever.nucleus.providers.mysql.compound.ICompoundDataIterator;
+import com.jcwhatever.nucleus.providers.mysql.statements.ParameterBuffer;
 import com.jcwhatever.nucleus.providers.mysql.statements.Statement;
 import com.jcwhatever.nucleus.providers.mysql.table.Table;
 import com.jcwhatever.nucleus.providers.sql.ISqlDbType;
 import com.jcwhatever.nucleus.providers.sql.ISqlTable;
 import com.jcwhatever.nucleus.providers.sql.ISqlTableDefinition.ISqlTableColumn;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -34,8 +34,9 @@ public class Utils {
             return;
 
         StringBuilder statement = unfinalized.getBuffer();
-        List<Object> bufferedValues = new ArrayList<>(unfinalized.getValues());
-        List<Object> values = unfinalized.getValues();
+        // copy keeps primitive values unboxed
+        ParameterBuffer bufferedValues = unfinalized.getValues().copy();
+        ParameterBuffer values = unfinalized.getValues();
         values.clear();
 
         StringBuilder buffer = TempBuffers.STRING_BUILDERS.get();
@@ -30,6 +30,8 @@ import com.jcwhatever.nucleus.Nucleus;
 import com.jcwhatever.nucleus.collections.TreeEntryNode;
 import com.jcwhatever.nucleus.managed.scheduler.IScheduledTask;
 import com.jcwhatever.nucleus.managed.scheduler.Scheduler;
+import com.jcwhatever.nucleus.providers.mysql.statements.StatementPriority;
+import com.jcwhatever.nucleus.providers.mysql.statements.Transaction;
 import com.jcwhatever.nucleus.providers.sql.ISqlDatabase;
 import com.jcwhatever.nucleus.providers.sql.ISqlResult;
 import com.jcwhatever.nucleus.providers.sql.ISqlTable;
@@ -221,6 +223,10 @@ public class SqlDataNode extends MemoryDataNode implements ISqlDataNode {
 
                         if (transaction == null) {
                             transaction = dbEntry.getKey().createTransaction();
+
+                            // auto saves should not delay interactive work
+                            if (transaction instanceof Transaction)
+                                ((Transaction) transaction).setPriority(StatementPriority.BULK);
                         }
 
                         updateFinal = update.set(context.columnName).value(getRoot().get(context.nodeName));
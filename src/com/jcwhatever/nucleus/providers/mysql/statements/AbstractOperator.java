@@ -300,6 +300,114 @@ abstract class AbstractOperator<T> implements ISqlOperator<T> {
         return allColumns("<=", columnNames);
     }
 
+    /**
+     * Current column value is equal to a long value. The value is not boxed.
+     *
+     * @param value  The value.
+     */
+    public T isEqualTo(long value) {
+        return singleValue("=", value);
+    }
+
+    /**
+     * Current column value is equal to a double value. The value is not boxed.
+     *
+     * @param value  The value.
+     */
+    public T isEqualTo(double value) {
+        return singleValue("=", value);
+    }
+
+    /**
+     * Current column value is not equal to a long value. The value is not boxed.
+     *
+     * @param value  The value.
+     */
+    public T isNotEqualTo(long value) {
+        return singleValue("!=", value);
+    }
+
+    /**
+     * Current column value is not equal to a double value. The value is not boxed.
+     *
+     * @param value  The value.
+     */
+    public T isNotEqualTo(double value) {
+        return singleValue("!=", value);
+    }
+
+    /**
+     * Current column value is greater than a long value. The value is not boxed.
+     *
+     * @param value  The value.
+     */
+    public T isGreaterThan(long value) {
+        return singleValue(">", value);
+    }
+
+    /**
+     * Current column value is greater than a double value. The value is not boxed.
+     *
+     * @param value  The value.
+     */
+    public T isGreaterThan(double value) {
+        return singleValue(">", value);
+    }
+
+    /**
+     * Current column value is greater than or equal to a long value. The value is not boxed.
+     *
+     * @param value  The value.
+     */
+    public T isGreaterOrEqualTo(long value) {
+        return singleValue(">=", value);
+    }
+
+    /**
+     * Current column value is greater than or equal to a double value. The value is not boxed.
+     *
+     * @param value  The value.
+     */
+    public T isGreaterOrEqualTo(double value) {
+        return singleValue(">=", value);
+    }
+
+    /**
+     * Current column value is less than a long value. The value is not boxed.
+     *
+     * @param value  The value.
+     */
+    public T isLessThan(long value) {
+        return singleValue("<", value);
+    }
+
+    /**
+     * Current column value is less than a double value. The value is not boxed.
+     *
+     * @param value  The value.
+     */
+    public T isLessThan(double value) {
+        return singleValue("<", value);
+    }
+
+    /**
+     * Current column value is less than or equal to a long value. The value is not boxed.
+     *
+     * @param value  The value.
+     */
+    public T isLessOrEqualTo(long value) {
+        return singleValue("<=", value);
+    }
+
+    /**
+     * Current column value is less than or equal to a double value. The value is not boxed.
+     *
+     * @param value  The value.
+     */
+    public T isLessOrEqualTo(double value) {
+        return singleValue("<=", value);
+    }
+
     private T singleValue(String operator, @Nullable Object value) {
         assertNotFinalized();
 
@@ -308,6 +416,24 @@ abstract class AbstractOperator<T> implements ISqlOperator<T> {
         return getConditionOperator();
     }
 
+    private T singleValue(String operator, long value) {
+        assertNotFinalized();
+
+        statement().append(operator);
+        primitiveValue();
+        values().addLong(value);
+        return getConditionOperator();
+    }
+
+    private T singleValue(String operator, double value) {
+        assertNotFinalized();
+
+        statement().append(operator);
+        primitiveValue();
+        values().addDouble(value);
+        return getConditionOperator();
+    }
+
     private T singleColumn(String operator, String columnName) {
         PreCon.notNullOrEmpty(columnName);
         assertNotFinalized();
@@ -451,11 +577,7 @@ abstract class AbstractOperator<T> implements ISqlOperator<T> {
         }
         else {
 
-            ISqlTableColumn column = _table.getDefinition().getColumn(currentColumn);
-            if (column == null) {
-                throw new IllegalArgumentException("A column named" + currentColumn +
-                        " is not defined in table " + _table.getName());
-            }
+            ISqlTableColumn column = getCurrentColumn();
 
             CompoundValue compoundValue = null;
 
@@ -476,7 +598,31 @@ abstract class AbstractOperator<T> implements ISqlOperator<T> {
 
     }
 
-    private List<Object> values() {
+    /*
+     * Write the parameter placeholder of a primitive value.
+     */
+    private void primitiveValue() {
+
+        if (_table != null && getCurrentColumn().getDataType().isCompound()) {
+            throw new IllegalArgumentException("Column " + currentColumn +
+                    " has a compound data type and cannot be compared to a primitive value.");
+        }
+
+        statement().append('?');
+    }
+
+    private ISqlTableColumn getCurrentColumn() {
+
+        ISqlTableColumn column = _table.getDefinition().getColumn(currentColumn);
+        if (column == null) {
+            throw new IllegalArgumentException("A column named" + currentColumn +
+                    " is not defined in table " + _table.getName());
+        }
+
+        return column;
+    }
+
+    private ParameterBuffer values() {
         return _statement.getValues();
     }
 
@@ -0,0 +1,1383 @@
+package com.jcwhatever.nucleus.providers.mysql.statements;
+
+import javax.annotation.Nullable;
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Read only, scrollable copy of the rows of a result set.
+ *
+ * The rows are copied on the thread that executed the query so that the
+ * statement and the driver result set can be closed, or returned to the
+ * statement cache, before the result is delivered. Reading the copy never
+ * touches the connection.
+ *
+ * Values are copied with getObject and converted when read with another
+ * getter. Column names are resolved case insensitively by label, by
+ * "table.label" and by the original column name. Qualified names that use
+ * a table alias are not available from the result set meta data, so the
+ * names that may be used are resolved against the driver result set while
+ * the rows are copied.
+ */
+final class BufferedResultSet implements ResultSet {
+
+    private final ResultSetMetaData _metaData;
+    private final Map<String, Integer> _columnIndexes =
+            new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final int _columnCount;
+
+    private List<Object[]> _rows;
+    private int _row = -1;
+    private int _fetchDirection = FETCH_FORWARD;
+    private int _fetchSize;
+    private boolean _wasNull;
+    private boolean _isClosed;
+
+    /**
+     * Constructor.
+     *
+     * <p>Reads all remaining rows of the result set. The result set is not closed.</p>
+     *
+     * @param resultSet  The result set to copy.
+     * @param names      Additional column names to resolve against the result set,
+     *                   such as names qualified with a table alias.
+     *
+     * @throws SQLException
+     */
+    BufferedResultSet(ResultSet resultSet, Collection<String> names) throws SQLException {
+
+        _metaData = resultSet.getMetaData();
+        _columnCount = _metaData.getColumnCount();
+
+        for (String name : names) {
+            try {
+                _columnIndexes.put(name, resultSet.findColumn(name));
+            }
+            catch (SQLException ignore) {
+                // not a column of the result
+            }
+        }
+
+        // labels take precedence over qualified and original names
+        for (int i = 1; i <= _columnCount; i++) {
+            String label = _metaData.getColumnLabel(i);
+            if (!_columnIndexes.containsKey(label))
+                _columnIndexes.put(label, i);
+        }
+
+        for (int i = 1; i <= _columnCount; i++) {
+            String label = _metaData.getColumnLabel(i);
+            String name = _metaData.getColumnName(i);
+            String table = _metaData.getTableName(i);
+
+            if (table != null && !table.isEmpty()) {
+                putIfAbsent(table + '.' + label, i);
+                putIfAbsent(table + '.' + name, i);
+            }
+            putIfAbsent(name, i);
+        }
+
+        _rows = new ArrayList<>(10);
+
+        while (resultSet.next()) {
+
+            Object[] row = new Object[_columnCount];
+
+            for (int i = 0; i < _columnCount; i++) {
+                row[i] = resultSet.getObject(i + 1);
+            }
+
+            _rows.add(row);
+        }
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        checkClosed();
+
+        if (_row < _rows.size())
+            _row++;
+
+        return _row < _rows.size();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        _isClosed = true;
+        _rows = null;
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        return _wasNull;
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+
+        if (value == null)
+            return null;
+
+        if (value instanceof String)
+            return (String) value;
+
+        if (value instanceof byte[])
+            return new String((byte[]) value, StandardCharsets.UTF_8);
+
+        if (value instanceof Boolean)
+            return (Boolean) value ? "1" : "0";
+
+        if (value instanceof Timestamp && ((Timestamp) value).getNanos() == 0) {
+            // match the driver, which does not add fractional seconds
+            String text = value.toString();
+            return text.substring(0, text.length() - 2);
+        }
+
+        return value.toString();
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+
+        if (value == null)
+            return false;
+
+        if (value instanceof Boolean)
+            return (Boolean) value;
+
+        if (value instanceof Number)
+            return ((Number) value).doubleValue() != 0;
+
+        String text = getString(columnIndex).trim();
+
+        if (text.equalsIgnoreCase("true") || text.equalsIgnoreCase("y") ||
+                text.equalsIgnoreCase("yes")) {
+            return true;
+        }
+
+        try {
+            return new BigDecimal(text).signum() != 0;
+        }
+        catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public byte getByte(int columnIndex) throws SQLException {
+        Number number = number(columnIndex);
+        return number == null ? 0 : number.byteValue();
+    }
+
+    @Override
+    public short getShort(int columnIndex) throws SQLException {
+        Number number = number(columnIndex);
+        return number == null ? 0 : number.shortValue();
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        Number number = number(columnIndex);
+        return number == null ? 0 : number.intValue();
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        Number number = number(columnIndex);
+        return number == null ? 0 : number.longValue();
+    }
+
+    @Override
+    public float getFloat(int columnIndex) throws SQLException {
+        Number number = number(columnIndex);
+        return number == null ? 0 : number.floatValue();
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        Number number = number(columnIndex);
+        return number == null ? 0 : number.doubleValue();
+    }
+
+    @Override
+    @Deprecated
+    public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+        BigDecimal value = getBigDecimal(columnIndex);
+        return value == null ? null : value.setScale(scale, BigDecimal.ROUND_HALF_UP);
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+
+        if (value == null)
+            return null;
+
+        if (value instanceof byte[])
+            return (byte[]) value;
+
+        return getString(columnIndex).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Date getDate(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+
+        if (value == null)
+            return null;
+
+        if (value instanceof Date)
+            return (Date) value;
+
+        if (value instanceof java.util.Date)
+            return new Date(((java.util.Date) value).getTime());
+
+        try {
+            return Date.valueOf(getString(columnIndex).trim());
+        }
+        catch (IllegalArgumentException e) {
+            throw new SQLException("Value cannot be read as a date: " + value, e);
+        }
+    }
+
+    @Override
+    public Time getTime(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+
+        if (value == null)
+            return null;
+
+        if (value instanceof Time)
+            return (Time) value;
+
+        if (value instanceof java.util.Date)
+            return new Time(((java.util.Date) value).getTime());
+
+        try {
+            return Time.valueOf(getString(columnIndex).trim());
+        }
+        catch (IllegalArgumentException e) {
+            throw new SQLException("Value cannot be read as a time: " + value, e);
+        }
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+
+        if (value == null)
+            return null;
+
+        if (value instanceof Timestamp)
+            return (Timestamp) value;
+
+        if (value instanceof java.util.Date)
+            return new Timestamp(((java.util.Date) value).getTime());
+
+        try {
+            return Timestamp.valueOf(getString(columnIndex).trim());
+        }
+        catch (IllegalArgumentException e) {
+            throw new SQLException("Value cannot be read as a timestamp: " + value, e);
+        }
+    }
+
+    @Override
+    public InputStream getAsciiStream(int columnIndex) throws SQLException {
+        String value = getString(columnIndex);
+        return value == null ? null : new ByteArrayInputStream(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    @Deprecated
+    public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public InputStream getBinaryStream(int columnIndex) throws SQLException {
+        byte[] value = getBytes(columnIndex);
+        return value == null ? null : new ByteArrayInputStream(value);
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        return getBoolean(findColumn(columnLabel));
+    }
+
+    @Override
+    public byte getByte(String columnLabel) throws SQLException {
+        return getByte(findColumn(columnLabel));
+    }
+
+    @Override
+    public short getShort(String columnLabel) throws SQLException {
+        return getShort(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    @Override
+    public float getFloat(String columnLabel) throws SQLException {
+        return getFloat(findColumn(columnLabel));
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+
+    @Override
+    @Deprecated
+    public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel), scale);
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        return getBytes(findColumn(columnLabel));
+    }
+
+    @Override
+    public Date getDate(String columnLabel) throws SQLException {
+        return getDate(findColumn(columnLabel));
+    }
+
+    @Override
+    public Time getTime(String columnLabel) throws SQLException {
+        return getTime(findColumn(columnLabel));
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return getTimestamp(findColumn(columnLabel));
+    }
+
+    @Override
+    public InputStream getAsciiStream(String columnLabel) throws SQLException {
+        return getAsciiStream(findColumn(columnLabel));
+    }
+
+    @Override
+    @Deprecated
+    public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+        return getUnicodeStream(findColumn(columnLabel));
+    }
+
+    @Override
+    public InputStream getBinaryStream(String columnLabel) throws SQLException {
+        return getBinaryStream(findColumn(columnLabel));
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return null;
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        // warnings are not copied
+    }
+
+    @Override
+    public String getCursorName() throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return _metaData;
+    }
+
+    @Override
+    public Object getObject(int columnIndex) throws SQLException {
+        return value(columnIndex);
+    }
+
+    @Override
+    public Object getObject(String columnLabel) throws SQLException {
+        return getObject(findColumn(columnLabel));
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        checkClosed();
+
+        Integer index = _columnIndexes.get(columnLabel);
+        if (index != null)
+            return index;
+
+        // qualified with a table alias that was not resolved while copying
+        int dot = columnLabel.lastIndexOf('.');
+        if (dot != -1) {
+            index = _columnIndexes.get(columnLabel.substring(dot + 1));
+            if (index != null)
+                return index;
+        }
+
+        throw new SQLException("Column '" + columnLabel + "' not found.", "S0022");
+    }
+
+    @Override
+    public Reader getCharacterStream(int columnIndex) throws SQLException {
+        String value = getString(columnIndex);
+        return value == null ? null : new StringReader(value);
+    }
+
+    @Override
+    public Reader getCharacterStream(String columnLabel) throws SQLException {
+        return getCharacterStream(findColumn(columnLabel));
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+
+        if (value == null)
+            return null;
+
+        if (value instanceof BigDecimal)
+            return (BigDecimal) value;
+
+        if (value instanceof BigInteger)
+            return new BigDecimal((BigInteger) value);
+
+        if (value instanceof Double || value instanceof Float)
+            return BigDecimal.valueOf(((Number) value).doubleValue());
+
+        if (value instanceof Number)
+            return BigDecimal.valueOf(((Number) value).longValue());
+
+        if (value instanceof Boolean)
+            return (Boolean) value ? BigDecimal.ONE : BigDecimal.ZERO;
+
+        try {
+            return new BigDecimal(getString(columnIndex).trim());
+        }
+        catch (NumberFormatException e) {
+            throw new SQLException("Value cannot be read as a number: " + value, e);
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        checkClosed();
+        return _row == -1 && !_rows.isEmpty();
+    }
+
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        checkClosed();
+        return _row >= _rows.size() && !_rows.isEmpty();
+    }
+
+    @Override
+    public boolean isFirst() throws SQLException {
+        checkClosed();
+        return _row == 0 && !_rows.isEmpty();
+    }
+
+    @Override
+    public boolean isLast() throws SQLException {
+        checkClosed();
+        return _row == _rows.size() - 1 && !_rows.isEmpty();
+    }
+
+    @Override
+    public void beforeFirst() throws SQLException {
+        checkClosed();
+        _row = -1;
+    }
+
+    @Override
+    public void afterLast() throws SQLException {
+        checkClosed();
+        _row = _rows.size();
+    }
+
+    @Override
+    public boolean first() throws SQLException {
+        return absolute(1);
+    }
+
+    @Override
+    public boolean last() throws SQLException {
+        return absolute(-1);
+    }
+
+    @Override
+    public int getRow() throws SQLException {
+        checkClosed();
+        return _row >= 0 && _row < _rows.size() ? _row + 1 : 0;
+    }
+
+    @Override
+    public boolean absolute(int row) throws SQLException {
+        checkClosed();
+
+        int size = _rows.size();
+
+        if (row > 0) {
+            _row = Math.min(row - 1, size);
+        }
+        else if (row < 0) {
+            _row = Math.max(size + row, -1);
+        }
+        else {
+            _row = -1;
+        }
+
+        return _row >= 0 && _row < size;
+    }
+
+    @Override
+    public boolean relative(int rows) throws SQLException {
+        checkClosed();
+
+        int size = _rows.size();
+
+        _row = Math.max(-1, Math.min(size, _row + rows));
+
+        return _row >= 0 && _row < size;
+    }
+
+    @Override
+    public boolean previous() throws SQLException {
+        return relative(-1);
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        _fetchDirection = direction;
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return _fetchDirection;
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        _fetchSize = rows;
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return _fetchSize;
+    }
+
+    @Override
+    public int getType() throws SQLException {
+        return TYPE_SCROLL_INSENSITIVE;
+    }
+
+    @Override
+    public int getConcurrency() throws SQLException {
+        return CONCUR_READ_ONLY;
+    }
+
+    @Override
+    public boolean rowUpdated() throws SQLException {
+        return false;
+    }
+
+    @Override
+    public boolean rowInserted() throws SQLException {
+        return false;
+    }
+
+    @Override
+    public boolean rowDeleted() throws SQLException {
+        return false;
+    }
+
+    @Override
+    public Statement getStatement() throws SQLException {
+        // the statement is released once the rows are copied
+        return null;
+    }
+
+    @Override
+    public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+        return getObject(columnIndex);
+    }
+
+    @Override
+    public Ref getRef(int columnIndex) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public Blob getBlob(int columnIndex) throws SQLException {
+        byte[] value = getBytes(columnIndex);
+        return value == null ? null : new SerialBlob(value);
+    }
+
+    @Override
+    public Clob getClob(int columnIndex) throws SQLException {
+        String value = getString(columnIndex);
+        return value == null ? null : new SerialClob(value.toCharArray());
+    }
+
+    @Override
+    public Array getArray(int columnIndex) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+        return getObject(findColumn(columnLabel), map);
+    }
+
+    @Override
+    public Ref getRef(String columnLabel) throws SQLException {
+        return getRef(findColumn(columnLabel));
+    }
+
+    @Override
+    public Blob getBlob(String columnLabel) throws SQLException {
+        return getBlob(findColumn(columnLabel));
+    }
+
+    @Override
+    public Clob getClob(String columnLabel) throws SQLException {
+        return getClob(findColumn(columnLabel));
+    }
+
+    @Override
+    public Array getArray(String columnLabel) throws SQLException {
+        return getArray(findColumn(columnLabel));
+    }
+
+    @Override
+    public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+        // values were converted by the driver when they were copied
+        return getDate(columnIndex);
+    }
+
+    @Override
+    public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+        return getDate(findColumn(columnLabel), cal);
+    }
+
+    @Override
+    public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+        return getTime(columnIndex);
+    }
+
+    @Override
+    public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+        return getTime(findColumn(columnLabel), cal);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+        return getTimestamp(columnIndex);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+        return getTimestamp(findColumn(columnLabel), cal);
+    }
+
+    @Override
+    public URL getURL(int columnIndex) throws SQLException {
+        String value = getString(columnIndex);
+        if (value == null)
+            return null;
+
+        try {
+            return new URL(value);
+        }
+        catch (MalformedURLException e) {
+            throw new SQLException("Value cannot be read as a URL: " + value, e);
+        }
+    }
+
+    @Override
+    public URL getURL(String columnLabel) throws SQLException {
+        return getURL(findColumn(columnLabel));
+    }
+
+    @Override
+    public RowId getRowId(int columnIndex) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public RowId getRowId(String columnLabel) throws SQLException {
+        return getRowId(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return HOLD_CURSORS_OVER_COMMIT;
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return _isClosed;
+    }
+
+    @Override
+    public NClob getNClob(int columnIndex) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public NClob getNClob(String columnLabel) throws SQLException {
+        return getNClob(findColumn(columnLabel));
+    }
+
+    @Override
+    public SQLXML getSQLXML(int columnIndex) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public SQLXML getSQLXML(String columnLabel) throws SQLException {
+        return getSQLXML(findColumn(columnLabel));
+    }
+
+    @Override
+    public String getNString(int columnIndex) throws SQLException {
+        return getString(columnIndex);
+    }
+
+    @Override
+    public String getNString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public Reader getNCharacterStream(int columnIndex) throws SQLException {
+        return getCharacterStream(columnIndex);
+    }
+
+    @Override
+    public Reader getNCharacterStream(String columnLabel) throws SQLException {
+        return getCharacterStream(findColumn(columnLabel));
+    }
+
+    @Override
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+        Object value;
+
+        if (type == String.class) {
+            value = getString(columnIndex);
+        }
+        else if (type == Boolean.class) {
+            value = getBoolean(columnIndex);
+        }
+        else if (type == Byte.class) {
+            value = getByte(columnIndex);
+        }
+        else if (type == Short.class) {
+            value = getShort(columnIndex);
+        }
+        else if (type == Integer.class) {
+            value = getInt(columnIndex);
+        }
+        else if (type == Long.class) {
+            value = getLong(columnIndex);
+        }
+        else if (type == Float.class) {
+            value = getFloat(columnIndex);
+        }
+        else if (type == Double.class) {
+            value = getDouble(columnIndex);
+        }
+        else if (type == BigDecimal.class) {
+            value = getBigDecimal(columnIndex);
+        }
+        else if (type == byte[].class) {
+            value = getBytes(columnIndex);
+        }
+        else if (type == Date.class) {
+            value = getDate(columnIndex);
+        }
+        else if (type == Time.class) {
+            value = getTime(columnIndex);
+        }
+        else if (type == Timestamp.class) {
+            value = getTimestamp(columnIndex);
+        }
+        else {
+            value = getObject(columnIndex);
+            if (value != null && !type.isInstance(value)) {
+                throw new SQLException("Value cannot be read as a " + type.getName()
+                        + ": " + value);
+            }
+        }
+
+        if (_wasNull)
+            return null;
+
+        return type.cast(value);
+    }
+
+    @Override
+    public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+        return getObject(findColumn(columnLabel), type);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this))
+            return iface.cast(this);
+
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this);
+    }
+
+    @Override
+    public void updateNull(int columnIndex) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateByte(int columnIndex, byte x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateShort(int columnIndex, short x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateInt(int columnIndex, int x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateLong(int columnIndex, long x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateFloat(int columnIndex, float x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateDouble(int columnIndex, double x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateString(int columnIndex, String x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateDate(int columnIndex, Date x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateTime(int columnIndex, Time x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNull(String columnLabel) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateByte(String columnLabel, byte x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateShort(String columnLabel, short x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateInt(String columnLabel, int x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateLong(String columnLabel, long x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateFloat(String columnLabel, float x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateDouble(String columnLabel, double x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateString(String columnLabel, String x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateDate(String columnLabel, Date x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateTime(String columnLabel, Time x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x, int length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x, int length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader, int length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void insertRow() throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateRow() throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void deleteRow() throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void refreshRow() throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void cancelRowUpdates() throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void moveToInsertRow() throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void moveToCurrentRow() throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateRef(int columnIndex, Ref x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateRef(String columnLabel, Ref x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, Blob x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, Blob x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Clob x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Clob x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateArray(int columnIndex, Array x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateArray(String columnLabel, Array x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateRowId(int columnIndex, RowId x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateRowId(String columnLabel, RowId x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNString(int columnIndex, String nString) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNString(String columnLabel, String nString) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, NClob nClob) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, NClob nClob) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateSQLXML(int columnIndex, SQLXML xmlObject) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateSQLXML(String columnLabel, SQLXML xmlObject) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream inputStream, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream inputStream, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader reader, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader reader, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader reader, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader reader, long length) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader reader) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream inputStream) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream inputStream) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader reader) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader reader) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader reader) throws SQLException {
+        throw readOnly();
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader reader) throws SQLException {
+        throw readOnly();
+    }
+
+    private void putIfAbsent(String name, int index) {
+        if (!_columnIndexes.containsKey(name))
+            _columnIndexes.put(name, index);
+    }
+
+    /*
+     * Get the value of a column in the current row and set the was null flag.
+     */
+    @Nullable
+    private Object value(int columnIndex) throws SQLException {
+        checkClosed();
+
+        if (_row < 0 || _row >= _rows.size())
+            throw new SQLException("The cursor is not on a row.", "S1000");
+
+        if (columnIndex < 1 || columnIndex > _columnCount)
+            throw new SQLException("Column index out of range: " + columnIndex, "S1009");
+
+        Object value = _rows.get(_row)[columnIndex - 1];
+        _wasNull = value == null;
+        return value;
+    }
+
+    /*
+     * Get the value of a column in the current row as a number.
+     */
+    @Nullable
+    private Number number(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+
+        if (value == null)
+            return null;
+
+        if (value instanceof Number)
+            return (Number) value;
+
+        if (value instanceof Boolean)
+            return (Boolean) value ? 1 : 0;
+
+        return getBigDecimal(columnIndex);
+    }
+
+    private void checkClosed() throws SQLException {
+        if (_isClosed)
+            throw new SQLException("The result set is closed.", "S1000");
+    }
+
+    private static SQLException readOnly() {
+        return new SQLFeatureNotSupportedException("The result set is read only.");
+    }
+}
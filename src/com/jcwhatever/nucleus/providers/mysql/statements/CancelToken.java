@@ -0,0 +1,143 @@
+package com.jcwhatever.nucleus.providers.mysql.statements;
+
+import javax.annotation.Nullable;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/*
+ * Cancellation state of a unit of work running on a statement executor thread.
+ *
+ * The token of the unit of work is set as the current token of the executor
+ * thread while it runs. Statements register with the current token while they
+ * execute so that a cancel request from another thread can cancel the statement
+ * on the server. Statements started after a cancel request fail immediately.
+ *
+ * Each registration is a separate execution. A cancel request only cancels the
+ * execution that was registered when it was made, it is dropped if that
+ * execution ended before the request reached the driver.
+ */
+final class CancelToken {
+
+    /**
+     * The SQL state of the exception thrown by statements started after
+     * the work was cancelled.
+     */
+    static final String CANCELLED_STATE = "70100";
+
+    private static final ThreadLocal<CancelToken> CURRENT = new ThreadLocal<>();
+
+    // the driver opens a new connection to send a cancel request
+    private static final ExecutorService CANCEL_EXECUTOR = Executors.newCachedThreadPool(
+            new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "MySqlProvider Statement Cancel");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    private volatile Execution _executing;
+    private volatile boolean _isCancelled;
+
+    /*
+     * Set the token of the work running on the current thread.
+     */
+    static void setCurrent(@Nullable CancelToken token) {
+        if (token == null) {
+            CURRENT.remove();
+        }
+        else {
+            CURRENT.set(token);
+        }
+    }
+
+    /*
+     * Register a statement that is about to execute on the current thread.
+     * Throws if the work on the current thread was cancelled.
+     */
+    static void begin(Statement statement) throws SQLException {
+
+        CancelToken token = CURRENT.get();
+        if (token == null)
+            return;
+
+        token.assertNotCancelled();
+        token._executing = new Execution(statement);
+
+        // cancel may have been requested before the statement was visible
+        if (token._isCancelled) {
+            token._executing = null;
+            token.assertNotCancelled();
+        }
+    }
+
+    /*
+     * Unregister the statement executing on the current thread.
+     */
+    static void end() {
+
+        CancelToken token = CURRENT.get();
+        if (token != null)
+            token._executing = null;
+    }
+
+    /*
+     * Determine if cancellation was requested.
+     */
+    boolean isCancelled() {
+        return _isCancelled;
+    }
+
+    /*
+     * Request cancellation. The executing statement, if any, is cancelled on
+     * the server from the cancel executor since the driver opens a new connection
+     * to send the cancel request.
+     */
+    void cancel() {
+
+        _isCancelled = true;
+
+        final Execution execution = _executing;
+        if (execution == null)
+            return;
+
+        CANCEL_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+
+                // the statement ended or the connection moved on to another statement
+                if (_executing != execution)
+                    return;
+
+                try {
+                    execution.statement.cancel();
+                }
+                catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+
+    private void assertNotCancelled() throws SQLException {
+        if (_isCancelled)
+            throw new SQLException("Statement execution was cancelled.", CANCELLED_STATE);
+    }
+
+    /*
+     * A single execution of a registered statement. Compared by identity.
+     */
+    private static final class Execution {
+
+        final Statement statement;
+
+        Execution(Statement statement) {
+            this.statement = statement;
+        }
+    }
+}
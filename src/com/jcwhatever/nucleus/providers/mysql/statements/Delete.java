@@ -26,8 +26,6 @@ import java.util.List;
  */
 public class Delete implements ISqlDelete {
 
-    private static final StatementSizeTracker _sizeTracker = new StatementSizeTracker(100, 25);
-
     private final Table _table;
     private final Statement _statement;
     private final BoolOperator _boolOperator;
@@ -36,6 +34,7 @@ public class Delete implements ISqlDelete {
     private List<CompoundValue> _compoundValues;
     private boolean _isFinalized;
     private FinalizedStatement _finalized;
+    private int _shape = StatementShape.DELETE;
 
     /**
      * Constructor.
@@ -48,7 +47,7 @@ public class Delete implements ISqlDelete {
 
         _table = table;
         _statement = statement == null
-                ? new Statement(table.getDatabase(), _sizeTracker.getSize(), 5)
+                ? new Statement(table.getDatabase(), table.getSizeTracker(StatementShape.DELETE).getSize(), 5)
                 : statement;
 
         _statement.setType(StatementType.UPDATE);
@@ -132,11 +131,45 @@ public class Delete implements ISqlDelete {
         }
     }
 
+    /**
+     * Set the priority class the statement is executed with.
+     *
+     * <p>Applies to all statements in the current statement context.</p>
+     *
+     * @param priority  The priority.
+     *
+     * @return  Self for chaining.
+     */
+    public Delete priority(StatementPriority priority) {
+        assertNotFinalized();
+
+        _statement.setPriority(priority);
+        return this;
+    }
+
+    /**
+     * Set the query timeout in seconds the statement is executed with.
+     *
+     * <p>Applies to all statements in the current statement context.</p>
+     *
+     * @param seconds  The timeout. 0 for no timeout, -1 to use the database default.
+     *
+     * @return  Self for chaining.
+     */
+    public Delete timeout(int seconds) {
+        assertNotFinalized();
+
+        _statement.setQueryTimeout(seconds);
+        return this;
+    }
+
     @Override
     public Operator where(String column) {
         PreCon.notNullOrEmpty(column);
         assertNotFinalized();
 
+        addClause(StatementShape.WHERE);
+
         statement()
                 .append(" WHERE `")
                 .append(column)
@@ -151,6 +184,8 @@ public class Delete implements ISqlDelete {
         PreCon.notNullOrEmpty(column);
         assertNotFinalized();
 
+        addClause(StatementShape.WHERE);
+
         statement()
                 .append(" WHERE `")
                 .append(table.getName())
@@ -230,12 +265,24 @@ public class Delete implements ISqlDelete {
                     "and cannot be modified.");
     }
 
+    /*
+     * Add a clause flag to the statement shape and grow the statement
+     * buffer to the size tracked for the new shape.
+     */
+    private void addClause(int clause) {
+        if ((_shape & clause) != 0)
+            return;
+
+        _shape |= clause;
+        _statement.getBuffer().ensureCapacity(_table.getSizeTracker(_shape).getSize());
+    }
+
     @Nullable
     private FinalizedStatement finalizeStatement() {
         if (_isFinalized)
             return _finalized;
 
-        _sizeTracker.registerSize(_statement.length());
+        _table.getSizeTracker(_shape).registerSize(_statement.length());
         _finalized = _statement.finalizeStatement(_table);
         _isFinalized = true;
         return _finalized;
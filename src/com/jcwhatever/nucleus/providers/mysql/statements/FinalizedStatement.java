@@ -1,5 +1,7 @@
 package com.jcwhatever.nucleus.providers.mysql.statements;
 
+import com.jcwhatever.nucleus.providers.mysql.MySqlConnection;
+import com.jcwhatever.nucleus.providers.mysql.StatementCache;
 import com.jcwhatever.nucleus.providers.mysql.table.Table;
 import com.jcwhatever.nucleus.providers.sql.ISqlQueryResult;
 import com.jcwhatever.nucleus.providers.sql.statement.ISqlStatement;
@@ -7,14 +9,10 @@ import com.jcwhatever.nucleus.utils.ArrayUtils;
 import com.jcwhatever.nucleus.utils.PreCon;
 
 import javax.annotation.Nullable;
-import java.nio.ByteBuffer;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Timestamp;
-import java.util.Date;
-import java.util.UUID;
 
 /**
  * A statement that is finalized and ready to be executed.
@@ -24,10 +22,12 @@ public class FinalizedStatement implements ISqlStatement {
     private final Table _table;
     private final Connection _connection;
     private final String _sql;
-    private final Object[] _values;
+    private final ParameterBuffer _parameters;
+    private Object[] _values;
     private final StatementType _type;
     private final String[] _columns;
     private final boolean _isPrefixed;
+    private final ParameterBinder[] _binders;
 
     /**
      * Constructor.
@@ -47,9 +47,11 @@ public class FinalizedStatement implements ISqlStatement {
         _connection = connection;
         _sql = null;
         _values = null;
+        _parameters = null;
         _type = type;
         _columns = null;
         _isPrefixed = true;
+        _binders = null;
     }
 
     /**
@@ -67,7 +69,51 @@ public class FinalizedStatement implements ISqlStatement {
                               String sql, Object[] values, String[] columns,
                               StatementType type, boolean isPrefixed) {
 
-        this(table, table.getDatabase().getConnection(), sql, values, columns, type, isPrefixed);
+        this(table, table.getDatabase().getConnection(), sql, values, null,
+                columns, type, isPrefixed, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param table       The table the statement is for.
+     * @param sql         The sql statement string.
+     * @param values      The statement values.
+     * @param columns     The names of the columns the statement is affecting.
+     * @param type        The statement type.
+     * @param isPrefixed  True if the column names in the statement have been prefixed with
+     *                    the table name.
+     * @param binders     The binder of each value or null. Null entries are resolved
+     *                    from the value.
+     */
+    FinalizedStatement(Table table,
+                       String sql, ParameterBuffer values, String[] columns,
+                       StatementType type, boolean isPrefixed,
+                       @Nullable ParameterBinder[] binders) {
+
+        this(table, table.getDatabase().getConnection(), sql, null, values,
+                columns, type, isPrefixed, binders);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param table       The table the statement is for.
+     * @param sql         The sql statement string.
+     * @param values      The statement values.
+     * @param columns     The names of the columns the statement is affecting.
+     * @param type        The statement type.
+     * @param isPrefixed  True if the column names in the statement have been prefixed with
+     *                    the table name.
+     * @param binders     The binder of each value. Null to resolve binders from the values.
+     */
+    FinalizedStatement(Table table,
+                       String sql, Object[] values, String[] columns,
+                       StatementType type, boolean isPrefixed,
+                       @Nullable ParameterBinder[] binders) {
+
+        this(table, table.getDatabase().getConnection(), sql, values, null,
+                columns, type, isPrefixed, binders);
     }
 
     /**
@@ -85,13 +131,12 @@ public class FinalizedStatement implements ISqlStatement {
                               String sql, Object[] values, String[] columns,
                               StatementType type, boolean isPrefixed) {
 
-        this(null, connection, sql, values, columns, type, isPrefixed);
+        this(null, connection, sql, values, null, columns, type, isPrefixed, null);
     }
 
     /**
-     * Private constructor.
+     * Constructor.
      *
-     * @param table       The table the statement is for.
      * @param connection  The connection to execute the statement using.
      * @param sql         The sql statement string.
      * @param values      The statement values.
@@ -99,26 +144,57 @@ public class FinalizedStatement implements ISqlStatement {
      * @param type        The statement type.
      * @param isPrefixed  True if the column names in the statement have been prefixed with
      *                    the table name.
+     * @param binders     The binder of each value or null. Null entries are resolved
+     *                    from the value.
+     */
+    FinalizedStatement(Connection connection,
+                       String sql, ParameterBuffer values, String[] columns,
+                       StatementType type, boolean isPrefixed,
+                       @Nullable ParameterBinder[] binders) {
+
+        this(null, connection, sql, null, values, columns, type, isPrefixed, binders);
+    }
+
+    /**
+     * Private constructor.
+     *
+     * @param table         The table the statement is for.
+     * @param connection    The connection to execute the statement using.
+     * @param sql           The sql statement string.
+     * @param values        The statement values or null if a parameter buffer is used.
+     * @param parameters    The statement parameter buffer or null if values are used.
+     * @param columns       The names of the columns the statement is affecting.
+     * @param type          The statement type.
+     * @param isPrefixed    True if the column names in the statement have been prefixed with
+     *                      the table name.
+     * @param binders       The binder of each value or null. Null entries are resolved
+     *                      from the value.
      */
     private FinalizedStatement(@Nullable Table table, Connection connection,
-                              String sql, Object[] values, String[] columns,
-                               StatementType type, boolean isPrefixed) {
+                               String sql, @Nullable Object[] values,
+                               @Nullable ParameterBuffer parameters, String[] columns,
+                               StatementType type, boolean isPrefixed,
+                               @Nullable ParameterBinder[] binders) {
 
         PreCon.notNull(connection);
         PreCon.notNull(sql);
-        PreCon.notNull(values);
+        PreCon.isValid(values != null || parameters != null);
         PreCon.notNull(columns);
         PreCon.notNull(type);
         PreCon.isValid(type != StatementType.TRANSACTION_START &&
                 type != StatementType.TRANSACTION_COMMIT);
+        PreCon.isValid(binders == null || binders.length ==
+                (values != null ? values.length : parameters.size()));
 
         _table = table;
         _connection = connection;
         _sql = sql;
         _values = values;
+        _parameters = parameters;
         _columns = columns;
         _type = type;
         _isPrefixed = isPrefixed;
+        _binders = binders;
     }
 
     @Override
@@ -126,10 +202,19 @@ public class FinalizedStatement implements ISqlStatement {
         return _sql;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Values in a parameter buffer are boxed the first time they are requested.</p>
+     */
     @Override
     public Object[] getValues() {
-        if (_values == null)
-            return ArrayUtils.EMPTY_OBJECT_ARRAY;
+        if (_values == null) {
+            if (_parameters == null)
+                return ArrayUtils.EMPTY_OBJECT_ARRAY;
+
+            _values = _parameters.toArray();
+        }
 
         return _values;
     }
@@ -179,6 +264,15 @@ public class FinalizedStatement implements ISqlStatement {
         return _columns;
     }
 
+    /*
+     * Get the binder of each value. Null if the binders are resolved from the
+     * values. Values without a binder have a null entry.
+     */
+    @Nullable
+    ParameterBinder[] getBinders() {
+        return _binders;
+    }
+
     /**
      * Execute the query on the current thread.
      *
@@ -187,9 +281,154 @@ public class FinalizedStatement implements ISqlStatement {
      * @throws SQLException
      */
     public ISqlQueryResult executeQuery() throws SQLException {
-        PreparedStatement prepared = prepareStatement();
-        ResultSet resultSet = prepared.executeQuery();
-        return new StatementResult(this, resultSet);
+        return executeQuery(0);
+    }
+
+    /**
+     * Execute the query on the current thread.
+     *
+     * @param timeout  The query timeout in seconds. 0 for no timeout.
+     *
+     * @return  The query result.
+     *
+     * @throws SQLException
+     */
+    public ISqlQueryResult executeQuery(int timeout) throws SQLException {
+        PreCon.positiveNumber(timeout);
+
+        StatementCache cache = getStatementCache();
+        PreparedStatement prepared = prepare(cache);
+
+        try {
+            ResultSet resultSet;
+
+            begin(prepared, timeout);
+            try {
+                resultSet = prepared.executeQuery();
+            }
+            finally {
+                CancelToken.end();
+            }
+
+            // rows are copied so the statement is released before the result is delivered
+            try {
+                return new StatementResult(this, resultSet);
+            }
+            finally {
+                resultSet.close();
+            }
+        }
+        finally {
+            release(cache, prepared);
+        }
+    }
+
+    /**
+     * Execute the update statement on the current thread.
+     *
+     * @return  The number of rows updated.
+     *
+     * @throws SQLException
+     */
+    public int executeUpdate() throws SQLException {
+        return executeUpdate(0);
+    }
+
+    /**
+     * Execute the update statement on the current thread.
+     *
+     * @param timeout  The query timeout in seconds. 0 for no timeout.
+     *
+     * @return  The number of rows updated.
+     *
+     * @throws SQLException
+     */
+    public int executeUpdate(int timeout) throws SQLException {
+        PreCon.positiveNumber(timeout);
+
+        StatementCache cache = getStatementCache();
+        PreparedStatement prepared = prepare(cache);
+
+        try {
+            begin(prepared, timeout);
+            return prepared.executeUpdate();
+        }
+        finally {
+            CancelToken.end();
+            release(cache, prepared);
+        }
+    }
+
+    /**
+     * Execute a run of update statements with identical SQL on the current
+     * thread as a single JDBC batch.
+     *
+     * <p>If the driver rewrites the batch into a multi-row statement, the counts
+     * may be {@link java.sql.Statement#SUCCESS_NO_INFO}.</p>
+     *
+     * @param statements  The statements.
+     * @param start       The index of the first statement in the run.
+     * @param end         The exclusive index of the last statement in the run.
+     *
+     * @return  The update count of each statement in the run.
+     *
+     * @throws SQLException
+     */
+    public static int[] executeBatch(FinalizedStatement[] statements, int start, int end)
+            throws SQLException {
+        return executeBatch(statements, start, end, 0);
+    }
+
+    /**
+     * Execute a run of update statements with identical SQL on the current
+     * thread as a single JDBC batch.
+     *
+     * <p>If the driver rewrites the batch into a multi-row statement, the counts
+     * may be {@link java.sql.Statement#SUCCESS_NO_INFO}.</p>
+     *
+     * <p>In auto commit mode the driver may continue the batch after a failed
+     * statement. Batches should be executed inside a transaction.</p>
+     *
+     * @param statements  The statements.
+     * @param start       The index of the first statement in the run.
+     * @param end         The exclusive index of the last statement in the run.
+     * @param timeout     The query timeout in seconds for the whole batch. 0 for no timeout.
+     *
+     * @return  The update count of each statement in the run.
+     *
+     * @throws SQLException
+     */
+    public static int[] executeBatch(FinalizedStatement[] statements, int start, int end, int timeout)
+            throws SQLException {
+        PreCon.notNull(statements);
+        PreCon.isValid(start >= 0 && start < end && end <= statements.length);
+        PreCon.positiveNumber(timeout);
+
+        FinalizedStatement first = statements[start];
+        StatementCache cache = first.getStatementCache();
+
+        PreparedStatement prepared = cache != null
+                ? cache.checkOut(first._sql)
+                : first.getConnection().prepareStatement(first._sql);
+
+        try {
+            for (int i = start; i < end; i++) {
+                statements[i].bind(prepared, 1);
+                prepared.addBatch();
+            }
+
+            begin(prepared, timeout);
+            return prepared.executeBatch();
+        }
+        finally {
+            CancelToken.end();
+            try {
+                prepared.clearBatch();
+            }
+            finally {
+                first.release(cache, prepared);
+            }
+        }
     }
 
     /**
@@ -198,17 +437,41 @@ public class FinalizedStatement implements ISqlStatement {
      * @throws SQLException
      */
     public void execute() throws SQLException {
-        PreparedStatement prepared = prepareStatement();
-        prepared.execute();
+        execute(0);
+    }
+
+    /**
+     * Execute the statement on the current thread.
+     *
+     * @param timeout  The query timeout in seconds. 0 for no timeout.
+     *
+     * @throws SQLException
+     */
+    public void execute(int timeout) throws SQLException {
+        PreCon.positiveNumber(timeout);
+
+        StatementCache cache = getStatementCache();
+        PreparedStatement prepared = prepare(cache);
+
+        try {
+            begin(prepared, timeout);
+            prepared.execute();
+        }
+        finally {
+            CancelToken.end();
+            release(cache, prepared);
+        }
     }
 
     /**
      * Generate a {@link PreparedStatement}.
      *
+     * <p>The statement is not cached and must be closed by the caller.</p>
+     *
      * @throws SQLException
      */
     public PreparedStatement prepareStatement() throws SQLException {
-        return prepare(_sql, _values);
+        return prepare(null);
     }
 
     @Override
@@ -216,48 +479,78 @@ public class FinalizedStatement implements ISqlStatement {
         return _sql;
     }
 
-    private PreparedStatement prepare(String sql, Object[] values) throws SQLException{
-
-        PreparedStatement statement = getConnection().prepareStatement(sql);
-
-        int count = 1;
-        for (Object value : values) {
-
-            if (value instanceof String) {
-                statement.setString(count, (String) value);
-            } else if (value instanceof Boolean) {
-                statement.setBoolean(count, (Boolean) value);
-            } else if (value instanceof Byte) {
-                statement.setByte(count, (Byte) value);
-            } else if (value instanceof Short) {
-                statement.setShort(count, (Short) value);
-            } else if (value instanceof Integer) {
-                statement.setInt(count, (Integer) value);
-            } else if (value instanceof Long) {
-                statement.setLong(count, (Long) value);
-            } else if (value instanceof Float) {
-                statement.setFloat(count, (Float) value);
-            } else if (value instanceof Double) {
-                statement.setDouble(count, (Double) value);
-            } else if (value instanceof byte[]) {
-                statement.setBytes(count, (byte[]) value);
-            } else if (value instanceof UUID) {
-
-                UUID uuid = (UUID) value;
-
-                ByteBuffer buffer = ByteBuffer.wrap(new byte[16]);
-                buffer.putLong(uuid.getMostSignificantBits());
-                buffer.putLong(uuid.getLeastSignificantBits());
-                statement.setBytes(count, buffer.array());
-            } else if (value instanceof Date) {
-                statement.setTimestamp(count, new Timestamp(((Date) value).getTime()));
-            }
-            else {
-                statement.setObject(count, value);
-            }
-            count++;
+    /*
+     * Return a statement from prepare. Statements without a cache are closed.
+     */
+    void release(@Nullable StatementCache cache, PreparedStatement statement) {
+
+        if (cache != null) {
+            cache.checkIn(_sql, statement);
+            return;
+        }
+
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /*
+     * Apply the timeout to a statement that is about to execute and register it
+     * with the cancel token of the current thread. Cached statements keep the
+     * timeout of their previous use, so it is always set.
+     */
+    static void begin(PreparedStatement statement, int timeout) throws SQLException {
+        statement.setQueryTimeout(timeout);
+        CancelToken.begin(statement);
+    }
+
+    @Nullable
+    private StatementCache getStatementCache() {
+        return _connection instanceof MySqlConnection
+                ? ((MySqlConnection) _connection).getStatementCache()
+                : null;
+    }
+
+    private PreparedStatement prepare(@Nullable StatementCache cache) throws SQLException {
+
+        PreparedStatement statement = cache != null
+                ? cache.checkOut(_sql)
+                : getConnection().prepareStatement(_sql);
+
+        try {
+            bind(statement, 1);
+        }
+        catch (SQLException | RuntimeException e) {
+            release(cache, statement);
+            throw e;
         }
 
         return statement;
     }
+
+    /*
+     * Bind the statement values starting at the specified parameter index.
+     * Returns the index after the last bound value.
+     */
+    int bind(PreparedStatement statement, int startIndex) throws SQLException {
+
+        if (_parameters != null)
+            return _parameters.bind(statement, startIndex, _binders);
+
+        Object[] values = _values;
+        ParameterBinder[] binders = _binders;
+
+        for (int i = 0; i < values.length; i++) {
+
+            ParameterBinder binder = binders != null && binders[i] != null
+                    ? binders[i]
+                    : ParameterBinder.forValue(values[i]);
+
+            binder.bind(statement, startIndex + i, values[i]);
+        }
+
+        return startIndex + values.length;
+    }
 }
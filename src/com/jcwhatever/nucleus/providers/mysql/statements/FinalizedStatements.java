@@ -1,19 +1,24 @@
 package com.jcwhatever.nucleus.providers.mysql.statements;
 
+import com.jcwhatever.nucleus.providers.mysql.Database;
 import com.jcwhatever.nucleus.providers.mysql.Msg;
+import com.jcwhatever.nucleus.providers.mysql.MySqlConnection;
 import com.jcwhatever.nucleus.providers.sql.ISqlDatabase;
 import com.jcwhatever.nucleus.providers.sql.ISqlQueryResult;
 import com.jcwhatever.nucleus.providers.sql.ISqlResult;
 import com.jcwhatever.nucleus.utils.PreCon;
 import com.jcwhatever.nucleus.utils.observer.future.FutureResultAgent;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 import javax.annotation.Nullable;
 
 /**
@@ -21,8 +26,19 @@ import javax.annotation.Nullable;
  */
 public class FinalizedStatements extends ArrayList<FinalizedStatement> {
 
+    /**
+     * The max number of statements sent in a single multi-statement request
+     * when the connection has pipelining enabled.
+     */
+    public static final int MAX_PIPELINE_SIZE = 32;
+
     private final ISqlDatabase _database;
     private final FutureResultAgent<ISqlResult> _agent = new FutureResultAgent<>();
+    private Object _orderingKey;
+    private StatementPriority _priority = StatementPriority.INTERACTIVE;
+    private boolean _isPrimaryRequired;
+    private int _queryTimeout = -1;
+    private Executor _completionExecutor;
 
     /**
      * Constructor.
@@ -75,6 +91,156 @@ public class FinalizedStatements extends ArrayList<FinalizedStatement> {
         return _agent;
     }
 
+    /**
+     * Get the ordering key the statements are executed with.
+     *
+     * @return  The key or null if not set.
+     */
+    @Nullable
+    public Object getOrderingKey() {
+        return _orderingKey;
+    }
+
+    /**
+     * Set the ordering key the statements are executed with.
+     *
+     * <p>Work submitted with equal ordering keys is executed one at a time
+     * in submission order. See {@link OrderingKey}.</p>
+     *
+     * @param key  The key. Null to remove.
+     *
+     * @return  Self for chaining.
+     */
+    public FinalizedStatements setOrderingKey(@Nullable Object key) {
+        _orderingKey = key;
+        return this;
+    }
+
+    /**
+     * Get the priority class the statements are executed with.
+     */
+    public StatementPriority getPriority() {
+        return _priority;
+    }
+
+    /**
+     * Set the priority class the statements are executed with.
+     *
+     * @param priority  The priority.
+     *
+     * @return  Self for chaining.
+     */
+    public FinalizedStatements setPriority(StatementPriority priority) {
+        PreCon.notNull(priority);
+
+        _priority = priority;
+        return this;
+    }
+
+    /**
+     * Determine if queries must be executed on the primary database
+     * instead of a read replica.
+     */
+    public boolean isPrimaryRequired() {
+        return _isPrimaryRequired;
+    }
+
+    /**
+     * Set queries to be executed on the primary database instead of a read replica.
+     *
+     * <p>Use to read rows written by statements that may not have
+     * reached the replicas yet.</p>
+     *
+     * @param isRequired  True to require the primary.
+     *
+     * @return  Self for chaining.
+     */
+    public FinalizedStatements setPrimaryRequired(boolean isRequired) {
+        _isPrimaryRequired = isRequired;
+        return this;
+    }
+
+    /**
+     * Get the query timeout in seconds applied to each statement.
+     *
+     * @return  The timeout. 0 for no timeout, -1 to use the database default.
+     */
+    public int getQueryTimeout() {
+        return _queryTimeout;
+    }
+
+    /**
+     * Set the query timeout in seconds applied to each statement.
+     *
+     * <p>Batches and multi-statement requests are given the longest timeout
+     * of the statements they contain.</p>
+     *
+     * @param seconds  The timeout. 0 for no timeout, -1 to use the database default.
+     *
+     * @return  Self for chaining.
+     */
+    public FinalizedStatements setQueryTimeout(int seconds) {
+        PreCon.isValid(seconds >= -1, "Timeout must be -1 or greater.");
+
+        _queryTimeout = seconds;
+        return this;
+    }
+
+    /**
+     * Get the executor used to complete the statements result.
+     *
+     * @return  The executor or null to use the database default.
+     */
+    @Nullable
+    public Executor getCompletionExecutor() {
+        return _completionExecutor;
+    }
+
+    /**
+     * Set the executor used to complete the statements result.
+     *
+     * <p>By default results are completed on the main thread. Results completed
+     * by another executor must not be used to access Bukkit state. Use
+     * {@link StatementExecutor#DIRECT} to complete on the statement executor thread.</p>
+     *
+     * @param executor  The executor. Null to use the database default.
+     *
+     * @return  Self for chaining.
+     */
+    public FinalizedStatements setCompletionExecutor(@Nullable Executor executor) {
+        _completionExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Determine if all statements in the list are queries.
+     */
+    public boolean isQueryOnly() {
+
+        Collection<FinalizedStatement> statements = getStatements();
+        if (statements.isEmpty())
+            return false;
+
+        for (FinalizedStatement statement : statements) {
+            if (statement.getType() != StatementType.QUERY)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Determine if the list contains statements that start or commit a transaction.
+     */
+    public boolean hasTransactionControl() {
+
+        for (FinalizedStatement statement : getStatements()) {
+            StatementType type = statement.getType();
+            if (type == StatementType.TRANSACTION_START || type == StatementType.TRANSACTION_COMMIT)
+                return true;
+        }
+        return false;
+    }
+
     @Override
     public boolean add(FinalizedStatement statement) {
         PreCon.notNull(statement);
@@ -85,6 +251,11 @@ public class FinalizedStatements extends ArrayList<FinalizedStatement> {
     /**
      * Execute all statements in the list on the current thread.
      *
+     * <p>Consecutive update statements with identical SQL are executed
+     * as a single JDBC batch. If the connection has pipelining enabled, other
+     * consecutive queries and updates are sent as a single multi-statement
+     * request.</p>
+     *
      * @param transactionDepth  The initial transaction depth. Transaction is only
      *                          started and ended at 0.
      *
@@ -96,17 +267,85 @@ public class FinalizedStatements extends ArrayList<FinalizedStatement> {
 
         ExecuteResult result = new ExecuteResult(size(), _agent);
 
-        Collection<FinalizedStatement> statements = getStatements();
+        executeNow(Collections.singletonList(this), Collections.singletonList(result), transactionDepth);
 
-        for (FinalizedStatement statement : statements) {
+        return result;
+    }
+
+    /**
+     * Execute the statements of multiple lists on the current thread as a
+     * single sequence.
+     *
+     * <p>Consecutive update statements with identical SQL are executed as a single
+     * JDBC batch, including statements from different lists. The update counts are
+     * added to the result of the list each statement is from.</p>
+     *
+     * @param lists             The statement lists.
+     * @param transactionDepth  The initial transaction depth. Transaction is only
+     *                          started and ended at 0.
+     *
+     * @return  The results of the execution in the same order as the lists.
+     *
+     * @throws SQLException
+     */
+    public static List<ExecuteResult> executeNow(Collection<FinalizedStatements> lists,
+                                                 int transactionDepth) throws SQLException {
+        PreCon.notNull(lists);
+
+        List<ExecuteResult> results = new ArrayList<>(lists.size());
+
+        for (FinalizedStatements statements : lists) {
+            results.add(new ExecuteResult(statements.size(), statements._agent));
+        }
+
+        executeNow(lists, results, transactionDepth);
+
+        return results;
+    }
+
+    private static void executeNow(Collection<FinalizedStatements> lists, List<ExecuteResult> results,
+                                   int transactionDepth) throws SQLException {
+
+        int total = 0;
+        for (FinalizedStatements statements : lists) {
+            total += statements.getStatements().size();
+        }
+
+        // flatten so that batches can span lists
+        FinalizedStatement[] statements = new FinalizedStatement[total];
+        ExecuteResult[] targets = new ExecuteResult[total];
+        int[] timeouts = new int[total];
+
+        int index = 0;
+        int listIndex = 0;
+        for (FinalizedStatements list : lists) {
+            ExecuteResult result = results.get(listIndex++);
+            int timeout = list.resolveQueryTimeout();
+            for (FinalizedStatement statement : list.getStatements()) {
+                statements[index] = statement;
+                targets[index] = result;
+                timeouts[index] = timeout;
+                index++;
+            }
+        }
+
+        for (int i = 0; i < total; i++) {
+
+            FinalizedStatement statement = statements[i];
 
             switch (statement.getType()) {
 
                 case QUERY: {
+
+                    int end = pipelineEnd(statements, i);
+                    if (end - i > 1) {
+                        executePipeline(statements, targets, i, end, runTimeout(timeouts, i, end));
+                        i = end - 1;
+                        break;
+                    }
+
                     try {
-                        PreparedStatement prepared = statement.prepareStatement();
-                        ResultSet resultSet = prepared.executeQuery();
-                        result.addResult(new StatementResult(statement, resultSet));
+                        targets[i].addResult(statement.executeQuery(timeouts[i]));
                     }
                     catch(SQLException e) {
                         displaySqlError(statement);
@@ -117,15 +356,45 @@ public class FinalizedStatements extends ArrayList<FinalizedStatement> {
                 }
 
                 case UPDATE: {
+
+                    int pipelineEnd = pipelineEnd(statements, i);
+                    if (pipelineEnd - i > 1) {
+                        executePipeline(statements, targets, i, pipelineEnd,
+                                runTimeout(timeouts, i, pipelineEnd));
+                        i = pipelineEnd - 1;
+                        break;
+                    }
+
+                    int end = batchEnd(statements, i);
+
                     try {
-                        PreparedStatement prepared = statement.prepareStatement();
-                        result.setRowsUpdated(prepared.executeUpdate());
+                        if (end - i == 1) {
+                            targets[i].setRowsUpdated(statement.executeUpdate(timeouts[i]));
+                        }
+                        else {
+                            // counts are SUCCESS_NO_INFO (-2) when the driver rewrites the batch
+                            int[] counts = FinalizedStatement.executeBatch(
+                                    statements, i, end, runTimeout(timeouts, i, end));
+                            for (int j = 0; j < counts.length; j++) {
+                                targets[i + j].setRowsUpdated(counts[j]);
+                            }
+                        }
                     }
                     catch(SQLException e) {
-                        displaySqlError(statement);
+                        int failed = failedBatchIndex(e, end - i);
+                        if (failed == -1) {
+                            displaySqlError(statement);
+                        }
+                        else {
+                            displaySqlError(statements[i + failed]);
+                            Msg.warning("Failed statement is at index {0} of a batch of {1}.",
+                                    failed, end - i);
+                        }
                         rollback(statement.getConnection());
                         throw e;
                     }
+
+                    i = end - 1;
                     break;
                 }
 
@@ -138,25 +407,217 @@ public class FinalizedStatements extends ArrayList<FinalizedStatement> {
                 case TRANSACTION_COMMIT: {
                     transactionDepth--;
                     if (transactionDepth == 0) {
-                        statement.getConnection().commit();
+                        // leaving manual commit mode commits the transaction
                         statement.getConnection().setAutoCommit(true);
                     }
                     break;
                 }
             }
         }
+    }
+
+    /*
+     * Get the exclusive end index of the run of query and update statements
+     * that starts at the specified index and can be sent as a single
+     * multi-statement request. Runs of identical updates are left to batching.
+     */
+    private static int pipelineEnd(FinalizedStatement[] statements, int start) throws SQLException {
+
+        FinalizedStatement first = statements[start];
+
+        if (!(first.getConnection() instanceof MySqlConnection) ||
+                !((MySqlConnection) first.getConnection()).isPipelineEnabled()) {
+            return start + 1;
+        }
 
-        return result;
+        int end = start;
+
+        while (end < statements.length && end - start < MAX_PIPELINE_SIZE) {
+
+            FinalizedStatement next = statements[end];
+
+            StatementType type = next.getType();
+            if (type != StatementType.QUERY && type != StatementType.UPDATE)
+                break;
+
+            if (next.getConnection() != first.getConnection())
+                break;
+
+            if (type == StatementType.UPDATE && batchEnd(statements, end) - end > 1)
+                break;
+
+            end++;
+        }
+
+        return Math.max(end, start + 1);
+    }
+
+    /*
+     * Send a run of statements as one multi-statement request and map each
+     * result set or update count back to the result of its statement.
+     */
+    private static void executePipeline(FinalizedStatement[] statements, ExecuteResult[] targets,
+                                        int start, int end, int timeout) throws SQLException {
+
+        StringBuilder sql = new StringBuilder((end - start) * 100);
+
+        for (int i = start; i < end; i++) {
+            String statementSql = statements[i].getStatement().trim();
+            if (statementSql.endsWith(";"))
+                statementSql = statementSql.substring(0, statementSql.length() - 1);
+
+            if (i != start)
+                sql.append(";\n");
+
+            sql.append(statementSql);
+        }
+
+        Connection connection = statements[start].getConnection();
+        PreparedStatement prepared = connection.prepareStatement(sql.toString());
+
+        int index = start;
+
+        try {
+            int parameterIndex = 1;
+            for (int i = start; i < end; i++) {
+                parameterIndex = statements[i].bind(prepared, parameterIndex);
+            }
+
+            // registered until all results are read, later statements may still be running
+            FinalizedStatement.begin(prepared, timeout);
+            boolean isResultSet = prepared.execute();
+
+            while (index < end) {
+
+                if (isResultSet) {
+                    // rows are copied before the next result closes the result set
+                    ResultSet resultSet = prepared.getResultSet();
+                    targets[index].addResult(new StatementResult(statements[index], resultSet));
+                }
+                else {
+                    int count = prepared.getUpdateCount();
+                    if (count == -1) {
+                        // the remaining statements in the pipeline were not executed
+                        throw new SQLException("Pipelined statement " + (index - start + 1) +
+                                " of " + (end - start) + " returned no result.");
+                    }
+
+                    targets[index].setRowsUpdated(count);
+                }
+
+                index++;
+
+                isResultSet = prepared.getMoreResults();
+            }
+        }
+        catch (SQLException e) {
+            displaySqlError(statements[Math.min(index, end - 1)]);
+            rollback(connection);
+            throw e;
+        }
+        finally {
+            CancelToken.end();
+
+            // closed on the executor thread, the results no longer reference the statement
+            try {
+                prepared.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /*
+     * Get the exclusive end index of the run of update statements
+     * with the same SQL and connection that starts at the specified index.
+     *
+     * Runs are only batched inside a transaction. In auto commit mode the driver
+     * keeps executing a batch after a failed statement (continueBatchOnError),
+     * which would apply writes that follow the failure.
+     */
+    private static int batchEnd(FinalizedStatement[] statements, int start) throws SQLException {
+
+        FinalizedStatement first = statements[start];
+        int end = start + 1;
+
+        if (first.getConnection().getAutoCommit())
+            return end;
+
+        while (end < statements.length) {
+
+            FinalizedStatement next = statements[end];
+
+            if (next.getType() != StatementType.UPDATE ||
+                    next.getConnection() != first.getConnection() ||
+                    !next.getStatement().equals(first.getStatement())) {
+                break;
+            }
+            end++;
+        }
+
+        return end;
+    }
+
+    /*
+     * Get the timeout of a run of statements executed as one request.
+     * The longest timeout is used and 0 (no timeout) outranks all others.
+     */
+    private static int runTimeout(int[] timeouts, int start, int end) {
+
+        int timeout = timeouts[start];
+
+        for (int i = start + 1; i < end && timeout != 0; i++) {
+            if (timeouts[i] == 0 || timeouts[i] > timeout)
+                timeout = timeouts[i];
+        }
+
+        return timeout;
+    }
+
+    /*
+     * Get the query timeout in seconds to execute the statements with.
+     */
+    private int resolveQueryTimeout() {
+
+        if (_queryTimeout != -1)
+            return _queryTimeout;
+
+        return _database instanceof Database
+                ? ((Database) _database).getQueryTimeout()
+                : 0;
+    }
+
+    /*
+     * Get the index of the statement that failed in a batch of the specified
+     * size. Returns -1 if the failed statement is not known.
+     */
+    private static int failedBatchIndex(SQLException e, int size) {
+
+        if (!(e instanceof BatchUpdateException) || size < 2)
+            return -1;
+
+        int[] counts = ((BatchUpdateException) e).getUpdateCounts();
+        if (counts == null)
+            return -1;
+
+        // counts are reported for each statement when the driver continues the batch
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == java.sql.Statement.EXECUTE_FAILED)
+                return i;
+        }
+
+        // otherwise counts are only reported for the statements before the failure
+        return counts.length < size ? counts.length : -1;
     }
 
-    private void rollback(Connection connection) throws SQLException {
+    private static void rollback(Connection connection) throws SQLException {
         if (!connection.getAutoCommit()) {
             connection.rollback();
             connection.setAutoCommit(true);
         }
     }
 
-    private void displaySqlError(FinalizedStatement statement) {
+    private static void displaySqlError(FinalizedStatement statement) {
 
         Object[] values = statement.getValues();
 
@@ -31,17 +31,18 @@ import java.util.List;
  */
 public class Insert implements ISqlInsert {
 
-    private static final StatementSizeTracker _sizeTracker = new StatementSizeTracker(100, 25);
-
     private final Statement _statement;
     private final Table _table;
-    private final Final _final = new Final();
-    private final Exists _exists = new Exists();
-    private final SetterOperator _setterOperator = new SetterOperator();
+    private Final _final;
+    private Exists _exists;
+    private SetterOperator _setterOperator;
 
     private List<CompoundValue> _compoundValues;
+    private int _rowCount;
+    private int _rowIndex;
     private boolean _isFinalized;
     private FinalizedStatement _finalized;
+    private int _shape = StatementShape.INSERT;
 
     /**
      * Constructor.
@@ -56,7 +57,7 @@ public class Insert implements ISqlInsert {
 
         _table = table;
         _statement = statement == null
-                ? new Statement(table.getDatabase(), _sizeTracker.getSize(), 15)
+                ? new Statement(table.getDatabase(), table.getSizeTracker(StatementShape.INSERT).getSize(), 15)
                 : statement;
 
         _statement.setColumns(columns);
@@ -91,6 +92,38 @@ public class Insert implements ISqlInsert {
         statement().append(')');
     }
 
+    /**
+     * Set the priority class the statement is executed with.
+     *
+     * <p>Applies to all statements in the current statement context.</p>
+     *
+     * @param priority  The priority.
+     *
+     * @return  Self for chaining.
+     */
+    public Insert priority(StatementPriority priority) {
+        assertNotFinalized();
+
+        _statement.setPriority(priority);
+        return this;
+    }
+
+    /**
+     * Set the query timeout in seconds the statement is executed with.
+     *
+     * <p>Applies to all statements in the current statement context.</p>
+     *
+     * @param seconds  The timeout. 0 for no timeout, -1 to use the database default.
+     *
+     * @return  Self for chaining.
+     */
+    public Insert timeout(int seconds) {
+        assertNotFinalized();
+
+        _statement.setQueryTimeout(seconds);
+        return this;
+    }
+
     @Override
     public Final values(Object... values) {
         PreCon.notNull(values);
@@ -98,11 +131,13 @@ public class Insert implements ISqlInsert {
                         || _statement.getColumns().length == values.length,
                 "Number of values provided does not match number of columns.");
         assertNotFinalized();
+        assertNoOpenRow();
 
-        if (statementValues().isEmpty()) {
+        if (_rowCount == 0) {
             statement().append(" VALUES (");
         }
         else {
+            addClause(StatementShape.ROWS);
             statement().append(", (");
         }
 
@@ -124,8 +159,107 @@ public class Insert implements ISqlInsert {
         }
 
         statement().append(')');
+        _rowCount++;
 
-        return _final;
+        return getFinal();
+    }
+
+    /**
+     * Add an int value to the current row.
+     *
+     * <p>Values added one at a time are stored without boxing. The row
+     * is started by the first value and must be ended with {@link #endRow}.</p>
+     *
+     * @param value  The value.
+     *
+     * @return  Self for chaining.
+     */
+    public Insert value(int value) {
+        beginValue();
+        statementValues().addInt(value);
+        return this;
+    }
+
+    /**
+     * Add a long value to the current row.
+     *
+     * @param value  The value.
+     *
+     * @return  Self for chaining.
+     */
+    public Insert value(long value) {
+        beginValue();
+        statementValues().addLong(value);
+        return this;
+    }
+
+    /**
+     * Add a double value to the current row.
+     *
+     * @param value  The value.
+     *
+     * @return  Self for chaining.
+     */
+    public Insert value(double value) {
+        beginValue();
+        statementValues().addDouble(value);
+        return this;
+    }
+
+    /**
+     * Add a boolean value to the current row.
+     *
+     * @param value  The value.
+     *
+     * @return  Self for chaining.
+     */
+    public Insert value(boolean value) {
+        beginValue();
+        statementValues().addBoolean(value);
+        return this;
+    }
+
+    /**
+     * Add a value to the current row.
+     *
+     * @param value  The value.
+     *
+     * @return  Self for chaining.
+     */
+    public Insert value(@Nullable Object value) {
+        int columnIndex = _rowIndex;
+        beginValue();
+
+        CompoundValue compoundValue = addValue(columnIndex, value);
+        if (compoundValue != null) {
+            // compound values are referenced by variable instead of a parameter
+            statement().setLength(statement().length() - 1);
+            statement()
+                    .append('@')
+                    .append(compoundValue.getVariable());
+        }
+
+        return this;
+    }
+
+    /**
+     * End the row started by adding a single value.
+     *
+     * @return  The final insert builder.
+     */
+    public ISqlInsertFinal endRow() {
+        assertNotFinalized();
+
+        int totalColumns = _statement.getColumns().length;
+
+        if (_rowIndex == 0 || (totalColumns != 0 && _rowIndex != totalColumns))
+            throw new IllegalStateException("Number of values provided does not match number of columns.");
+
+        statement().append(')');
+        _rowIndex = 0;
+        _rowCount++;
+
+        return getFinal();
     }
 
     @Override
@@ -138,7 +272,7 @@ public class Insert implements ISqlInsert {
             values(objects);
         }
 
-        return _final;
+        return getFinal();
     }
 
     @Override
@@ -161,6 +295,48 @@ public class Insert implements ISqlInsert {
                     "and cannot be modified.");
     }
 
+    /*
+     * Add a clause flag to the statement shape and grow the statement
+     * buffer to the size tracked for the new shape.
+     */
+    private void addClause(int clause) {
+        if ((_shape & clause) != 0)
+            return;
+
+        _shape |= clause;
+        _statement.getBuffer().ensureCapacity(_table.getSizeTracker(_shape).getSize());
+    }
+
+    private void assertNoOpenRow() {
+        if (_rowIndex != 0)
+            throw new IllegalStateException("The current row has not been ended.");
+    }
+
+    /*
+     * Write the row start or value separator and the parameter
+     * placeholder of the next single value.
+     */
+    private void beginValue() {
+        assertNotFinalized();
+
+        int totalColumns = _statement.getColumns().length;
+        if (totalColumns != 0 && _rowIndex == totalColumns)
+            throw new IllegalStateException("Number of values provided does not match number of columns.");
+
+        if (_rowIndex == 0) {
+            if (_rowCount != 0)
+                addClause(StatementShape.ROWS);
+
+            statement().append(_rowCount == 0 ? " VALUES (" : ", (");
+        }
+        else {
+            statement().append(',');
+        }
+
+        statement().append('?');
+        _rowIndex++;
+    }
+
     private FinalizedStatement finalizeStatement() {
         return finalizeStatement(false);
     }
@@ -170,8 +346,10 @@ public class Insert implements ISqlInsert {
         if (_isFinalized && !force)
             return _finalized;
 
+        assertNoOpenRow();
+
         Utils.insertCompound(_table, _statement, _compoundValues);
-        _sizeTracker.registerSize(_statement.length());
+        _table.getSizeTracker(_shape).registerSize(_statement.length());
         _finalized = _statement.finalizeStatement(_table);
         _isFinalized = true;
         return _finalized;
@@ -201,10 +379,15 @@ public class Insert implements ISqlInsert {
             column = _table.getDefinition().getColumn(name);
         }
 
-        if (column != null && column.getDataType().isCompound())
+        if (column == null) {
+            _statement.getValues().add(value);
+            return null;
+        }
+
+        if (column.getDataType().isCompound())
             return addCompoundValue(column, value);
 
-        _statement.getValues().add(value);
+        _statement.addValue(value, column);
         return null;
     }
 
@@ -227,14 +410,35 @@ public class Insert implements ISqlInsert {
         }
     }
 
-    private void addValue(Object value) {
-        _statement.getValues().add(value);
+    private void addValue(Object value, ISqlTableColumn column) {
+        _statement.addValue(value, column);
     }
 
-    private List<Object> statementValues() {
+    private ParameterBuffer statementValues() {
         return _statement.getValues();
     }
 
+    private Final getFinal() {
+        if (_final == null)
+            _final = new Final();
+
+        return _final;
+    }
+
+    private Exists getExists() {
+        if (_exists == null)
+            _exists = new Exists();
+
+        return _exists;
+    }
+
+    private SetterOperator getSetterOperator() {
+        if (_setterOperator == null)
+            _setterOperator = new SetterOperator();
+
+        return _setterOperator;
+    }
+
     private class Final implements ISqlInsertFinal, ISqlExecutable {
 
         @Override
@@ -242,7 +446,7 @@ public class Insert implements ISqlInsert {
             assertNotFinalized();
 
             statement().append(" ON DUPLICATE KEY UPDATE ");
-            return _exists;
+            return getExists();
         }
 
         @Override
@@ -352,7 +556,7 @@ public class Insert implements ISqlInsert {
                     .append(columnName)
                     .append("`=");
 
-            return _setterOperator;
+            return getSetterOperator();
         }
 
         @Override
@@ -378,52 +582,52 @@ public class Insert implements ISqlInsert {
                     .append(columnName)
                     .append("`=");
 
-            return _setterOperator;
+            return getSetterOperator();
         }
 
         @Override
         public IFutureResult<ISqlResult> execute() {
-            return _final.execute();
+            return getFinal().execute();
         }
 
         @Override
         public StatementBuilder endStatement() {
-            return _final.endStatement();
+            return getFinal().endStatement();
         }
 
         @Override
         public StatementBuilder setTable(ISqlTable table) {
-            return _final.setTable(table);
+            return getFinal().setTable(table);
         }
 
         @Override
         public StatementBuilder commitTransaction() {
-            return _final.commitTransaction();
+            return getFinal().commitTransaction();
         }
 
         @Override
         public PreparedStatement[] prepareStatements() throws SQLException {
-            return _final.prepareStatements();
+            return getFinal().prepareStatements();
         }
 
         @Override
         public ISqlStatement getStatement() {
-            return _final.getStatement();
+            return getFinal().getStatement();
         }
 
         @Override
         public IFutureResult<ISqlResult> addToTransaction(ISqlTransaction transaction) {
-            return _final.addToTransaction(transaction);
+            return getFinal().addToTransaction(transaction);
         }
 
         @Override
         public String toString() {
-            return _final.toString();
+            return getFinal().toString();
         }
 
         @Override
         public Final selectIdentity() {
-            return _final.selectIdentity();
+            return getFinal().selectIdentity();
         }
     }
 
@@ -432,8 +636,8 @@ public class Insert implements ISqlInsert {
         @Override
         public Exists value(@Nullable Object value) {
 
-            if (_exists.currentSetterColumn.getDataType().isCompound()) {
-                CompoundValue compoundValue = addCompoundValue(_exists.currentSetterColumn, value);
+            if (getExists().currentSetterColumn.getDataType().isCompound()) {
+                CompoundValue compoundValue = addCompoundValue(getExists().currentSetterColumn, value);
                 appendCompoundValue(compoundValue);
             }
             else if (value == null) {
@@ -441,12 +645,12 @@ public class Insert implements ISqlInsert {
             }
             else {
                 statement().append('?');
-                addValue(value);
+                addValue(value, getExists().currentSetterColumn);
             }
 
-            _exists.hasValues = true;
+            getExists().hasValues = true;
 
-            return _exists;
+            return getExists();
         }
 
         @Override
@@ -466,8 +670,8 @@ public class Insert implements ISqlInsert {
                     .append(column)
                     .append('`');
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
@@ -475,14 +679,14 @@ public class Insert implements ISqlInsert {
 
             statement()
                     .append('`')
-                    .append(_exists.currentTable.getName())
+                    .append(getExists().currentTable.getName())
                     .append("`.`")
-                    .append(_exists.currentSetterColumn.getName())
+                    .append(getExists().currentSetterColumn.getName())
                     .append("`+")
                     .append(amount);
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
@@ -490,14 +694,14 @@ public class Insert implements ISqlInsert {
 
             statement()
                     .append('`')
-                    .append(_exists.currentTable.getName())
+                    .append(getExists().currentTable.getName())
                     .append("`.`")
-                    .append(_exists.currentSetterColumn.getName())
+                    .append(getExists().currentSetterColumn.getName())
                     .append("`+")
                     .append(amount);
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
@@ -512,45 +716,45 @@ public class Insert implements ISqlInsert {
 
             statement()
                     .append('`')
-                    .append(_exists.currentTable.getName())
+                    .append(getExists().currentTable.getName())
                     .append("`.`")
-                    .append(_exists.currentSetterColumn.getName())
+                    .append(getExists().currentSetterColumn.getName())
                     .append("`+`")
                     .append(table.getName())
                     .append("`.`")
                     .append(column)
                     .append('`');
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
         public Exists subtract(int amount) {
             statement()
                     .append('`')
-                    .append(_exists.currentTable.getName())
+                    .append(getExists().currentTable.getName())
                     .append("`.`")
-                    .append(_exists.currentSetterColumn.getName())
+                    .append(getExists().currentSetterColumn.getName())
                     .append("`-")
                     .append(amount);
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
         public Exists subtract(double amount) {
             statement()
                     .append('`')
-                    .append(_exists.currentTable.getName())
+                    .append(getExists().currentTable.getName())
                     .append("`.`")
-                    .append(_exists.currentSetterColumn.getName())
+                    .append(getExists().currentSetterColumn.getName())
                     .append("`-")
                     .append(amount);
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
@@ -565,22 +769,22 @@ public class Insert implements ISqlInsert {
 
             statement()
                     .append('`')
-                    .append(_exists.currentTable.getName())
+                    .append(getExists().currentTable.getName())
                     .append("`.`")
-                    .append(_exists.currentSetterColumn.getName())
+                    .append(getExists().currentSetterColumn.getName())
                     .append("`-`")
                     .append(table.getName())
                     .append("`.`")
                     .append(column)
                     .append('`');
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
         public Exists largerColumn(ISqlTable table, String column) {
-            return largerColumn(_exists.currentTable, _exists.currentSetterColumn.getName(), table, column);
+            return largerColumn(getExists().currentTable, getExists().currentSetterColumn.getName(), table, column);
         }
 
         @Override
@@ -611,13 +815,13 @@ public class Insert implements ISqlInsert {
                     .append(column2)
                     .append("`)");
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
         public Exists smallerColumn(ISqlTable table, String column) {
-            return smallerColumn(_exists.currentTable, _exists.currentSetterColumn.getName(), table, column);
+            return smallerColumn(getExists().currentTable, getExists().currentSetterColumn.getName(), table, column);
         }
 
         @Override
@@ -648,8 +852,8 @@ public class Insert implements ISqlInsert {
                     .append(column2)
                     .append("`)");
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
     }
 }
@@ -41,23 +41,22 @@ import java.util.List;
  */
 public class InsertInto implements ISqlInsertInto {
 
-    private static final StatementSizeTracker _sizeTracker = new StatementSizeTracker(100, 25);
-
     private final Statement _statement;
     private final Table _table;
-    private final Select _select = new Select();
-    private final Reselect _reselect = new Reselect();
-    private final Where _where = new Where();
+    private Select _select;
+    private Reselect _reselect;
+    private Where _where;
     private final Operator _operator;
     private final InsertLogicalOperator _insertLogicalOperator;
-    private final JoinClause _joinClause = new JoinClause();
-    private final SetterOperator _setterOperator = new SetterOperator();
-    private final Exists _exists = new Exists();
-    private final Final _final = new Final();
+    private JoinClause _joinClause;
+    private SetterOperator _setterOperator;
+    private Exists _exists;
+    private Final _final;
 
     private List<CompoundValue> _compoundValues;
     private boolean _isFinalized;
     private FinalizedStatement _finalized;
+    private int _shape = StatementShape.INSERT_INTO;
 
     /**
      * Constructor.
@@ -72,7 +71,7 @@ public class InsertInto implements ISqlInsertInto {
 
         _table = table;
         _statement = statement == null
-                ? new Statement(table.getDatabase(), _sizeTracker.getSize(), 15)
+                ? new Statement(table.getDatabase(), table.getSizeTracker(StatementShape.INSERT_INTO).getSize(), 15)
                 : statement;
 
         _statement.setType(StatementType.UPDATE);
@@ -89,6 +88,38 @@ public class InsertInto implements ISqlInsertInto {
                 .append('`');
     }
 
+    /**
+     * Set the priority class the statement is executed with.
+     *
+     * <p>Applies to all statements in the current statement context.</p>
+     *
+     * @param priority  The priority.
+     *
+     * @return  Self for chaining.
+     */
+    public InsertInto priority(StatementPriority priority) {
+        assertNotFinalized();
+
+        _statement.setPriority(priority);
+        return this;
+    }
+
+    /**
+     * Set the query timeout in seconds the statement is executed with.
+     *
+     * <p>Applies to all statements in the current statement context.</p>
+     *
+     * @param seconds  The timeout. 0 for no timeout, -1 to use the database default.
+     *
+     * @return  Self for chaining.
+     */
+    public InsertInto timeout(int seconds) {
+        assertNotFinalized();
+
+        _statement.setQueryTimeout(seconds);
+        return this;
+    }
+
     @Override
     public Select columns(String... columnNames) {
 
@@ -96,7 +127,7 @@ public class InsertInto implements ISqlInsertInto {
 
         if (columnNames.length == 0) {
             statement().append(" * ");
-            return _select;
+            return getSelect();
         }
 
         statement().append(" (");
@@ -114,7 +145,7 @@ public class InsertInto implements ISqlInsertInto {
 
         statement().append(')');
 
-        return _select;
+        return getSelect();
     }
 
     @Override
@@ -137,6 +168,18 @@ public class InsertInto implements ISqlInsertInto {
                     "and cannot be modified.");
     }
 
+    /*
+     * Add a clause flag to the statement shape and grow the statement
+     * buffer to the size tracked for the new shape.
+     */
+    private void addClause(int clause) {
+        if ((_shape & clause) != 0)
+            return;
+
+        _shape |= clause;
+        _statement.getBuffer().ensureCapacity(_table.getSizeTracker(_shape).getSize());
+    }
+
     private FinalizedStatement finalizeStatement() {
         return finalizeStatement(false);
     }
@@ -146,9 +189,9 @@ public class InsertInto implements ISqlInsertInto {
         if (_isFinalized && !force)
             return _finalized;
 
-        _select.finishSelecting();
+        getSelect().finishSelecting();
         Utils.insertCompound(_table, _statement, _compoundValues);
-        _sizeTracker.registerSize(_statement.length());
+        _table.getSizeTracker(_shape).registerSize(_statement.length());
         _finalized = _statement.finalizeStatement(_table);
         _isFinalized = true;
         return _finalized;
@@ -158,8 +201,8 @@ public class InsertInto implements ISqlInsertInto {
         return _statement.getBuffer();
     }
 
-    private void addValue(Object value) {
-        _statement.getValues().add(value);
+    private void addValue(Object value, ISqlTableDefinition.ISqlTableColumn column) {
+        _statement.addValue(value, column);
     }
 
     private List<Object> statementValues() {
@@ -185,77 +228,126 @@ public class InsertInto implements ISqlInsertInto {
         }
     }
 
+    private Select getSelect() {
+        if (_select == null)
+            _select = new Select();
+
+        return _select;
+    }
+
+    private Reselect getReselect() {
+        if (_reselect == null)
+            _reselect = new Reselect();
+
+        return _reselect;
+    }
+
+    private Where getWhere() {
+        if (_where == null)
+            _where = new Where();
+
+        return _where;
+    }
+
+    private JoinClause getJoinClause() {
+        if (_joinClause == null)
+            _joinClause = new JoinClause();
+
+        return _joinClause;
+    }
+
+    private SetterOperator getSetterOperator() {
+        if (_setterOperator == null)
+            _setterOperator = new SetterOperator();
+
+        return _setterOperator;
+    }
+
+    private Exists getExists() {
+        if (_exists == null)
+            _exists = new Exists();
+
+        return _exists;
+    }
+
+    private Final getFinal() {
+        if (_final == null)
+            _final = new Final();
+
+        return _final;
+    }
+
     private class Reselect implements ISqlInsertIntoReselect {
 
         @Override
         public Reselect select(ISqlTable table, String column) {
-            _select.select(table, column);
+            getSelect().select(table, column);
             return this;
         }
 
         @Override
         public Final limit(int count) {
-            return _final.limit(count);
+            return getFinal().limit(count);
         }
 
         @Override
         public Final orderByAscend(String column) {
-            return _final.orderByAscend(column);
+            return getFinal().orderByAscend(column);
         }
 
         @Override
         public Final orderByAscend(ISqlTable table, String columnName) {
-            return _final.orderByAscend(table, columnName);
+            return getFinal().orderByAscend(table, columnName);
         }
 
         @Override
         public Final orderByDescend(String column) {
-            return _final.orderByDescend(column);
+            return getFinal().orderByDescend(column);
         }
 
         @Override
         public Final orderByDescend(ISqlTable table, String columnName) {
-            return _final.orderByDescend(table, columnName);
+            return getFinal().orderByDescend(table, columnName);
         }
 
         @Override
         public Final orderBy(String column, SqlOrder order) {
-            return _final.orderBy(column, order);
+            return getFinal().orderBy(column, order);
         }
 
         @Override
         public Final orderBy(ISqlTable table, String columnName, SqlOrder order) {
-            return _final.orderBy(table, columnName, order);
+            return getFinal().orderBy(table, columnName, order);
         }
 
         @Override
         public Final orderBy(IOrderGenerator orderGenerator) {
-            return _final.orderBy(orderGenerator);
+            return getFinal().orderBy(orderGenerator);
         }
 
         @Override
         public Operator where(String column) {
-            return _where.where(column);
+            return getWhere().where(column);
         }
 
         @Override
         public Operator where(ISqlTable table, String column) {
-            return _where.where(table, column);
+            return getWhere().where(table, column);
         }
 
         @Override
         public IFutureResult<ISqlResult> execute() {
-            return _final.execute();
+            return getFinal().execute();
         }
 
         @Override
         public ISqlNextStatementBuilder endStatement() {
-            return _final.endStatement();
+            return getFinal().endStatement();
         }
 
         @Override
         public ISqlNextStatementBuilder setTable(ISqlTable table) {
-            return _final.setTable(table);
+            return getFinal().setTable(table);
         }
 
         @Override
@@ -265,37 +357,37 @@ public class InsertInto implements ISqlInsertInto {
 
         @Override
         public ISqlStatement getStatement() {
-            return _final.getStatement();
+            return getFinal().getStatement();
         }
 
         @Override
         public IFutureResult<ISqlResult> addToTransaction(ISqlTransaction transaction) {
-            return _final.addToTransaction(transaction);
+            return getFinal().addToTransaction(transaction);
         }
 
         @Override
         public ISqlBuildOrExecute commitTransaction() {
-            return _final.commitTransaction();
+            return getFinal().commitTransaction();
         }
 
         @Override
         public JoinClause innerJoin(ISqlTable table) {
-            return _where.innerJoin(table);
+            return getWhere().innerJoin(table);
         }
 
         @Override
         public JoinClause leftJoin(ISqlTable table) {
-            return _where.leftJoin(table);
+            return getWhere().leftJoin(table);
         }
 
         @Override
         public JoinClause rightJoin(ISqlTable table) {
-            return _where.rightJoin(table);
+            return getWhere().rightJoin(table);
         }
 
         @Override
         public Exists ifExists() {
-            return _final.ifExists();
+            return getFinal().ifExists();
         }
     }
 
@@ -323,7 +415,7 @@ public class InsertInto implements ISqlInsertInto {
                     .append(_table.getName())
                     .append('`');
 
-            return _where;
+            return getWhere();
         }
 
         @Override
@@ -350,7 +442,7 @@ public class InsertInto implements ISqlInsertInto {
 
             isSelecting = true;
 
-            return _reselect;
+            return getReselect();
         }
 
         void finishSelecting() {
@@ -375,7 +467,9 @@ public class InsertInto implements ISqlInsertInto {
             PreCon.notNullOrEmpty(column);
             assertNotFinalized();
 
-            _select.finishSelecting();
+            getSelect().finishSelecting();
+
+            addClause(StatementShape.WHERE);
 
             statement()
                     .append(" WHERE ");
@@ -401,7 +495,9 @@ public class InsertInto implements ISqlInsertInto {
             PreCon.notNullOrEmpty(column);
             assertNotFinalized();
 
-            _select.finishSelecting();
+            getSelect().finishSelecting();
+
+            addClause(StatementShape.WHERE);
 
             statement()
                     .append(" WHERE ");
@@ -420,77 +516,77 @@ public class InsertInto implements ISqlInsertInto {
 
         @Override
         public IFutureResult<ISqlResult> execute() {
-            return _final.execute();
+            return getFinal().execute();
         }
 
         @Override
         public ISqlNextStatementBuilder endStatement() {
-            return _final.endStatement();
+            return getFinal().endStatement();
         }
 
         @Override
         public ISqlNextStatementBuilder setTable(ISqlTable table) {
-            return _final.setTable(table);
+            return getFinal().setTable(table);
         }
 
         @Override
         public PreparedStatement[] prepareStatements() throws SQLException {
-            return _final.prepareStatements();
+            return getFinal().prepareStatements();
         }
 
         @Override
         public ISqlStatement getStatement() {
-            return _final.getStatement();
+            return getFinal().getStatement();
         }
 
         @Override
         public IFutureResult<ISqlResult> addToTransaction(ISqlTransaction transaction) {
-            return _final.addToTransaction(transaction);
+            return getFinal().addToTransaction(transaction);
         }
 
         @Override
         public ISqlBuildOrExecute commitTransaction() {
-            return _final.commitTransaction();
+            return getFinal().commitTransaction();
         }
 
         @Override
         public Final limit(int count) {
-            return _final.limit(count);
+            return getFinal().limit(count);
         }
 
         @Override
         public Final orderByAscend(String columnName) {
-            return _final.orderByAscend(columnName);
+            return getFinal().orderByAscend(columnName);
         }
 
         @Override
         public Final orderByAscend(ISqlTable table, String columnName) {
-            return _final.orderByAscend(table, columnName);
+            return getFinal().orderByAscend(table, columnName);
         }
 
         @Override
         public Final orderByDescend(String columnName) {
-            return _final.orderByDescend(columnName);
+            return getFinal().orderByDescend(columnName);
         }
 
         @Override
         public Final orderByDescend(ISqlTable table, String columnName) {
-            return _final.orderByDescend(table, columnName);
+            return getFinal().orderByDescend(table, columnName);
         }
 
         @Override
         public Final orderBy(String columnName, SqlOrder order) {
-            return _final.orderBy(columnName, order);
+            return getFinal().orderBy(columnName, order);
         }
 
         @Override
         public Final orderBy(ISqlTable table, String columnName, SqlOrder order) {
-            return _final.orderBy(table, columnName, order);
+            return getFinal().orderBy(table, columnName, order);
         }
 
         @Override
         public Final orderBy(IOrderGenerator orderGenerator) {
-            return _final.orderBy(orderGenerator);
+            return getFinal().orderBy(orderGenerator);
         }
 
         @Override
@@ -498,6 +594,8 @@ public class InsertInto implements ISqlInsertInto {
             PreCon.notNull(table);
             assertNotFinalized();
 
+            addClause(StatementShape.JOIN);
+
             statement()
                     .append(" INNER JOIN `")
                     .append(table.getName())
@@ -505,7 +603,7 @@ public class InsertInto implements ISqlInsertInto {
 
             _currentJoinTable = '`' + table.getName() + '`';
 
-            return _joinClause;
+            return getJoinClause();
         }
 
         @Override
@@ -513,6 +611,8 @@ public class InsertInto implements ISqlInsertInto {
             PreCon.notNull(table);
             assertNotFinalized();
 
+            addClause(StatementShape.JOIN);
+
             statement()
                     .append(" LEFT JOIN `")
                     .append(table.getName())
@@ -520,7 +620,7 @@ public class InsertInto implements ISqlInsertInto {
 
             _currentJoinTable = '`' + table.getName() + '`';
 
-            return _joinClause;
+            return getJoinClause();
         }
 
         @Override
@@ -528,6 +628,8 @@ public class InsertInto implements ISqlInsertInto {
             PreCon.notNull(table);
             assertNotFinalized();
 
+            addClause(StatementShape.JOIN);
+
             statement()
                     .append(" RIGHT JOIN `")
                     .append(table.getName())
@@ -535,12 +637,12 @@ public class InsertInto implements ISqlInsertInto {
 
             _currentJoinTable = '`' + table.getName() + '`';
 
-            return _joinClause;
+            return getJoinClause();
         }
 
         @Override
         public Exists ifExists() {
-            return _final.ifExists();
+            return getFinal().ifExists();
         }
     }
 
@@ -565,7 +667,7 @@ public class InsertInto implements ISqlInsertInto {
 
             if (isName(column)) {
                 statement()
-                        .append(_where._currentJoinTable)
+                        .append(getWhere()._currentJoinTable)
                         .append(".`")
                         .append(column)
                         .append("`=");
@@ -586,7 +688,7 @@ public class InsertInto implements ISqlInsertInto {
                 statement().append(otherColumn);
             }
 
-            return _where;
+            return getWhere();
         }
     }
 
@@ -610,82 +712,82 @@ public class InsertInto implements ISqlInsertInto {
 
         @Override
         public Final limit(int count) {
-            return _final.limit(count);
+            return getFinal().limit(count);
         }
 
         @Override
         public Final orderByAscend(String columnName) {
-            return _final.orderByAscend(columnName);
+            return getFinal().orderByAscend(columnName);
         }
 
         @Override
         public Final orderByAscend(ISqlTable table, String columnName) {
-            return _final.orderByAscend(table, columnName);
+            return getFinal().orderByAscend(table, columnName);
         }
 
         @Override
         public Final orderByDescend(String columnName) {
-            return _final.orderByDescend(columnName);
+            return getFinal().orderByDescend(columnName);
         }
 
         @Override
         public Final orderByDescend(ISqlTable table, String columnName) {
-            return _final.orderByDescend(table, columnName);
+            return getFinal().orderByDescend(table, columnName);
         }
 
         @Override
         public Final orderBy(String columnName, SqlOrder order) {
-            return _final.orderBy(columnName, order);
+            return getFinal().orderBy(columnName, order);
         }
 
         @Override
         public Final orderBy(ISqlTable table, String columnName, SqlOrder order) {
-            return _final.orderBy(table, columnName, order);
+            return getFinal().orderBy(table, columnName, order);
         }
 
         @Override
         public Final orderBy(IOrderGenerator orderGenerator) {
-            return _final.orderBy(orderGenerator);
+            return getFinal().orderBy(orderGenerator);
         }
 
         @Override
         public IFutureResult<ISqlResult> execute() {
-            return _final.execute();
+            return getFinal().execute();
         }
 
         @Override
         public ISqlNextStatementBuilder endStatement() {
-            return _final.endStatement();
+            return getFinal().endStatement();
         }
 
         @Override
         public ISqlNextStatementBuilder setTable(ISqlTable table) {
-            return _final.setTable(table);
+            return getFinal().setTable(table);
         }
 
         @Override
         public PreparedStatement[] prepareStatements() throws SQLException {
-            return _final.prepareStatements();
+            return getFinal().prepareStatements();
         }
 
         @Override
         public ISqlStatement getStatement() {
-            return _final.getStatement();
+            return getFinal().getStatement();
         }
 
         @Override
         public IFutureResult<ISqlResult> addToTransaction(ISqlTransaction transaction) {
-            return _final.addToTransaction(transaction);
+            return getFinal().addToTransaction(transaction);
         }
 
         @Override
         public ISqlBuildOrExecute commitTransaction() {
-            return _final.commitTransaction();
+            return getFinal().commitTransaction();
         }
 
         @Override
         public Exists ifExists() {
-            return _final.ifExists();
+            return getFinal().ifExists();
         }
     }
 
@@ -718,82 +820,82 @@ public class InsertInto implements ISqlInsertInto {
 
         @Override
         public IFutureResult<ISqlResult> execute() {
-            return _final.execute();
+            return getFinal().execute();
         }
 
         @Override
         public ISqlNextStatementBuilder endStatement() {
-            return _final.endStatement();
+            return getFinal().endStatement();
         }
 
         @Override
         public ISqlNextStatementBuilder setTable(ISqlTable table) {
-            return _final.setTable(table);
+            return getFinal().setTable(table);
         }
 
         @Override
         public PreparedStatement[] prepareStatements() throws SQLException {
-            return _final.prepareStatements();
+            return getFinal().prepareStatements();
         }
 
         @Override
         public ISqlStatement getStatement() {
-            return _final.getStatement();
+            return getFinal().getStatement();
         }
 
         @Override
         public IFutureResult<ISqlResult> addToTransaction(ISqlTransaction transaction) {
-            return _final.addToTransaction(transaction);
+            return getFinal().addToTransaction(transaction);
         }
 
         @Override
         public ISqlBuildOrExecute commitTransaction() {
-            return _final.commitTransaction();
+            return getFinal().commitTransaction();
         }
 
         @Override
         public Final limit(int count) {
-            return _final.limit(count);
+            return getFinal().limit(count);
         }
 
         @Override
         public Final orderByAscend(String columnName) {
-            return _final.orderByAscend(columnName);
+            return getFinal().orderByAscend(columnName);
         }
 
         @Override
         public Final orderByAscend(ISqlTable table, String columnName) {
-            return _final.orderByAscend(table, columnName);
+            return getFinal().orderByAscend(table, columnName);
         }
 
         @Override
         public Final orderByDescend(String columnName) {
-            return _final.orderByDescend(columnName);
+            return getFinal().orderByDescend(columnName);
         }
 
         @Override
         public Final orderByDescend(ISqlTable table, String columnName) {
-            return _final.orderByDescend(table, columnName);
+            return getFinal().orderByDescend(table, columnName);
         }
 
         @Override
         public Final orderBy(String columnName, SqlOrder order) {
-            return _final.orderBy(columnName, order);
+            return getFinal().orderBy(columnName, order);
         }
 
         @Override
         public Final orderBy(ISqlTable table, String columnName, SqlOrder order) {
-            return _final.orderBy(table, columnName, order);
+            return getFinal().orderBy(table, columnName, order);
         }
 
         @Override
         public Final orderBy(IOrderGenerator orderGenerator) {
-            return _final.orderBy(orderGenerator);
+            return getFinal().orderBy(orderGenerator);
         }
 
         @Override
         public Exists ifExists() {
-            return _final.ifExists();
+            return getFinal().ifExists();
         }
     }
 
@@ -802,8 +904,8 @@ public class InsertInto implements ISqlInsertInto {
         @Override
         public Exists value(@Nullable Object value) {
 
-            if (_exists.currentSetterColumn.getDataType().isCompound()) {
-                CompoundValue compoundValue = addCompoundValue(_exists.currentSetterColumn, value);
+            if (getExists().currentSetterColumn.getDataType().isCompound()) {
+                CompoundValue compoundValue = addCompoundValue(getExists().currentSetterColumn, value);
                 appendCompoundValue(compoundValue);
             }
             else if (value == null) {
@@ -811,12 +913,12 @@ public class InsertInto implements ISqlInsertInto {
             }
             else {
                 statement().append('?');
-                addValue(value);
+                addValue(value, getExists().currentSetterColumn);
             }
 
-            _exists.hasValues = true;
+            getExists().hasValues = true;
 
-            return _exists;
+            return getExists();
         }
 
         @Override
@@ -836,8 +938,8 @@ public class InsertInto implements ISqlInsertInto {
                     .append(column)
                     .append('`');
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
@@ -845,14 +947,14 @@ public class InsertInto implements ISqlInsertInto {
 
             statement()
                     .append('`')
-                    .append(_exists.currentTable.getName())
+                    .append(getExists().currentTable.getName())
                     .append("`.`")
-                    .append(_exists.currentSetterColumn.getName())
+                    .append(getExists().currentSetterColumn.getName())
                     .append("`+")
                     .append(amount);
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
@@ -860,14 +962,14 @@ public class InsertInto implements ISqlInsertInto {
 
             statement()
                     .append('`')
-                    .append(_exists.currentTable.getName())
+                    .append(getExists().currentTable.getName())
                     .append("`.`")
-                    .append(_exists.currentSetterColumn.getName())
+                    .append(getExists().currentSetterColumn.getName())
                     .append("`+")
                     .append(amount);
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
@@ -882,45 +984,45 @@ public class InsertInto implements ISqlInsertInto {
 
             statement()
                     .append('`')
-                    .append(_exists.currentTable.getName())
+                    .append(getExists().currentTable.getName())
                     .append("`.`")
-                    .append(_exists.currentSetterColumn.getName())
+                    .append(getExists().currentSetterColumn.getName())
                     .append("`+`")
                     .append(table.getName())
                     .append("`.`")
                     .append(column)
                     .append('`');
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
         public Exists subtract(int amount) {
             statement()
                     .append('`')
-                    .append(_exists.currentTable.getName())
+                    .append(getExists().currentTable.getName())
                     .append("`.`")
-                    .append(_exists.currentSetterColumn.getName())
+                    .append(getExists().currentSetterColumn.getName())
                     .append("`-")
                     .append(amount);
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
         public Exists subtract(double amount) {
             statement()
                     .append('`')
-                    .append(_exists.currentTable.getName())
+                    .append(getExists().currentTable.getName())
                     .append("`.`")
-                    .append(_exists.currentSetterColumn.getName())
+                    .append(getExists().currentSetterColumn.getName())
                     .append("`-")
                     .append(amount);
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
@@ -935,22 +1037,22 @@ public class InsertInto implements ISqlInsertInto {
 
             statement()
                     .append('`')
-                    .append(_exists.currentTable.getName())
+                    .append(getExists().currentTable.getName())
                     .append("`.`")
-                    .append(_exists.currentSetterColumn.getName())
+                    .append(getExists().currentSetterColumn.getName())
                     .append("`-`")
                     .append(table.getName())
                     .append("`.`")
                     .append(column)
                     .append('`');
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
         public Exists largerColumn(ISqlTable table, String column) {
-            return largerColumn(_exists.currentTable, _exists.currentSetterColumn.getName(), table, column);
+            return largerColumn(getExists().currentTable, getExists().currentSetterColumn.getName(), table, column);
         }
 
         @Override
@@ -981,13 +1083,13 @@ public class InsertInto implements ISqlInsertInto {
                     .append(column2)
                     .append("`)");
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
 
         @Override
         public Exists smallerColumn(ISqlTable table, String column) {
-            return smallerColumn(_exists.currentTable, _exists.currentSetterColumn.getName(), table, column);
+            return smallerColumn(getExists().currentTable, getExists().currentSetterColumn.getName(), table, column);
         }
 
         @Override
@@ -1018,8 +1120,8 @@ public class InsertInto implements ISqlInsertInto {
                     .append(column2)
                     .append("`)");
 
-            _exists.hasValues = true;
-            return _exists;
+            getExists().hasValues = true;
+            return getExists();
         }
     }
 
@@ -1049,7 +1151,7 @@ public class InsertInto implements ISqlInsertInto {
                     .append(columnName)
                     .append("`=");
 
-            return _setterOperator;
+            return getSetterOperator();
         }
 
         @Override
@@ -1075,47 +1177,47 @@ public class InsertInto implements ISqlInsertInto {
                     .append(columnName)
                     .append("`=");
 
-            return _setterOperator;
+            return getSetterOperator();
         }
 
         @Override
         public IFutureResult<ISqlResult> execute() {
-            return _final.execute();
+            return getFinal().execute();
         }
 
         @Override
         public StatementBuilder endStatement() {
-            return _final.endStatement();
+            return getFinal().endStatement();
         }
 
         @Override
         public StatementBuilder setTable(ISqlTable table) {
-            return _final.setTable(table);
+            return getFinal().setTable(table);
         }
 
         @Override
         public StatementBuilder commitTransaction() {
-            return _final.commitTransaction();
+            return getFinal().commitTransaction();
         }
 
         @Override
         public PreparedStatement[] prepareStatements() throws SQLException {
-            return _final.prepareStatements();
+            return getFinal().prepareStatements();
         }
 
         @Override
         public ISqlStatement getStatement() {
-            return _final.getStatement();
+            return getFinal().getStatement();
         }
 
         @Override
         public IFutureResult<ISqlResult> addToTransaction(ISqlTransaction transaction) {
-            return _final.addToTransaction(transaction);
+            return getFinal().addToTransaction(transaction);
         }
 
         @Override
         public String toString() {
-            return _final.toString();
+            return getFinal().toString();
         }
     }
 
@@ -1279,7 +1381,7 @@ public class InsertInto implements ISqlInsertInto {
             assertNotFinalized();
 
             statement().append(" ON DUPLICATE KEY UPDATE ");
-            return _exists;
+            return getExists();
         }
     }
 }
@@ -0,0 +1,83 @@
+package com.jcwhatever.nucleus.providers.mysql.statements;
+
+import com.jcwhatever.nucleus.providers.sql.ISqlTable;
+import com.jcwhatever.nucleus.utils.PreCon;
+
+/**
+ * Routing key used to order work submitted to the {@link StatementExecutor}.
+ *
+ * <p>Units of work submitted with equal keys are executed one at a time in
+ * submission order. Work with different keys still runs in parallel.</p>
+ *
+ * <p>Any object with a proper {@link #equals} and {@link #hashCode} implementation
+ * can be used as a key. This class is a convenience key for a single table row.</p>
+ */
+public final class OrderingKey {
+
+    private final String _tableName;
+    private final Object _primaryValue;
+    private final int _hash;
+
+    /**
+     * Constructor.
+     *
+     * @param table         The table the row is in.
+     * @param primaryValue  The primary key value of the row.
+     */
+    public OrderingKey(ISqlTable table, Object primaryValue) {
+        this(table.getName(), primaryValue);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tableName     The name of the table the row is in.
+     * @param primaryValue  The primary key value of the row.
+     */
+    public OrderingKey(String tableName, Object primaryValue) {
+        PreCon.notNullOrEmpty(tableName);
+        PreCon.notNull(primaryValue);
+
+        _tableName = tableName;
+        _primaryValue = primaryValue;
+        _hash = tableName.hashCode() * 31 + primaryValue.hashCode();
+    }
+
+    /**
+     * Get the name of the table.
+     */
+    public String getTableName() {
+        return _tableName;
+    }
+
+    /**
+     * Get the primary key value.
+     */
+    public Object getPrimaryValue() {
+        return _primaryValue;
+    }
+
+    @Override
+    public int hashCode() {
+        return _hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this)
+            return true;
+
+        if (!(obj instanceof OrderingKey))
+            return false;
+
+        OrderingKey other = (OrderingKey)obj;
+
+        return other._tableName.equals(_tableName) &&
+                other._primaryValue.equals(_primaryValue);
+    }
+
+    @Override
+    public String toString() {
+        return _tableName + ':' + _primaryValue;
+    }
+}
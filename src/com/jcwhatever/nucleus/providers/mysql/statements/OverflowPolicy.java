@@ -0,0 +1,25 @@
+package com.jcwhatever.nucleus.providers.mysql.statements;
+
+/**
+ * Policy applied when work is submitted to a {@link StatementExecutor}
+ * whose queue is at capacity.
+ */
+public enum OverflowPolicy {
+    /**
+     * Block the submitting thread until there is room in the queue
+     * or the executors block timeout elapses. Work that still does not
+     * fit when the timeout elapses is rejected.
+     */
+    BLOCK,
+    /**
+     * Reject the work. The result future completes with an error.
+     */
+    REJECT,
+    /**
+     * Write the work to the local statement journal so it can be replayed
+     * later. The result future completes with an error. The journal is written
+     * in the background. Query only work is rejected since replaying it has
+     * no effect.
+     */
+    JOURNAL
+}
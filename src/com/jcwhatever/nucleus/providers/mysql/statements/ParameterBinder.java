@@ -0,0 +1,315 @@
+package com.jcwhatever.nucleus.providers.mysql.statements;
+
+import com.jcwhatever.nucleus.providers.mysql.MySqlProvider;
+import com.jcwhatever.nucleus.providers.sql.ISqlDbType;
+
+import javax.annotation.Nullable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Binds a value to a prepared statement parameter using the setter for
+ * a specific data type.
+ *
+ * Binders are resolved from the data type of a column or from the class of a
+ * value. Each binder checks the value type and hands values it does not handle
+ * to the generic binder, so a binder resolved for a column is safe to use for
+ * any value bound to the same parameter.
+ */
+abstract class ParameterBinder {
+
+    /**
+     * Bind a value to a prepared statement parameter.
+     *
+     * @param statement  The prepared statement.
+     * @param index      The parameter index.
+     * @param value      The value to bind.
+     *
+     * @throws SQLException
+     */
+    abstract void bind(PreparedStatement statement, int index, @Nullable Object value)
+            throws SQLException;
+
+    static final ParameterBinder GENERIC = new ParameterBinder() {
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            if (value == null) {
+                statement.setObject(index, null);
+                return;
+            }
+
+            ParameterBinder binder = forClass(value.getClass());
+            if (binder == GENERIC) {
+                statement.setObject(index, value);
+            }
+            else {
+                binder.bind(statement, index, value);
+            }
+        }
+    };
+
+    static final ParameterBinder STRING = new ParameterBinder() {
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            if (value instanceof String) {
+                statement.setString(index, (String) value);
+            }
+            else {
+                GENERIC.bind(statement, index, value);
+            }
+        }
+    };
+
+    static final ParameterBinder BOOLEAN = new ParameterBinder() {
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            if (value instanceof Boolean) {
+                statement.setBoolean(index, (Boolean) value);
+            }
+            else {
+                GENERIC.bind(statement, index, value);
+            }
+        }
+    };
+
+    static final ParameterBinder BYTE = new ParameterBinder() {
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            if (value instanceof Byte) {
+                statement.setByte(index, (Byte) value);
+            }
+            else {
+                GENERIC.bind(statement, index, value);
+            }
+        }
+    };
+
+    static final ParameterBinder SHORT = new ParameterBinder() {
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            if (value instanceof Short) {
+                statement.setShort(index, (Short) value);
+            }
+            else {
+                GENERIC.bind(statement, index, value);
+            }
+        }
+    };
+
+    static final ParameterBinder INTEGER = new ParameterBinder() {
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            if (value instanceof Integer) {
+                statement.setInt(index, (Integer) value);
+            }
+            else {
+                GENERIC.bind(statement, index, value);
+            }
+        }
+    };
+
+    static final ParameterBinder LONG = new ParameterBinder() {
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            if (value instanceof Long) {
+                statement.setLong(index, (Long) value);
+            }
+            else {
+                GENERIC.bind(statement, index, value);
+            }
+        }
+    };
+
+    static final ParameterBinder FLOAT = new ParameterBinder() {
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            if (value instanceof Float) {
+                statement.setFloat(index, (Float) value);
+            }
+            else {
+                GENERIC.bind(statement, index, value);
+            }
+        }
+    };
+
+    static final ParameterBinder DOUBLE = new ParameterBinder() {
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            if (value instanceof Double) {
+                statement.setDouble(index, (Double) value);
+            }
+            else {
+                GENERIC.bind(statement, index, value);
+            }
+        }
+    };
+
+    static final ParameterBinder BYTES = new ParameterBinder() {
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            if (value instanceof byte[]) {
+                statement.setBytes(index, (byte[]) value);
+            }
+            else {
+                GENERIC.bind(statement, index, value);
+            }
+        }
+    };
+
+    static final ParameterBinder UUID_BYTES = new ParameterBinder() {
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            if (value instanceof UUID) {
+                statement.setBytes(index, toBytes((UUID) value));
+            }
+            else {
+                GENERIC.bind(statement, index, value);
+            }
+        }
+    };
+
+    static final ParameterBinder TIMESTAMP = new ParameterBinder() {
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            if (value instanceof Timestamp) {
+                statement.setTimestamp(index, (Timestamp) value);
+            }
+            else if (value instanceof Date) {
+                statement.setTimestamp(index, new Timestamp(((Date) value).getTime()));
+            }
+            else {
+                GENERIC.bind(statement, index, value);
+            }
+        }
+    };
+
+    // binders by data class, primitive classes are boxed
+    private static final Map<Class<?>, ParameterBinder> _dataClassBinders = new HashMap<>(15);
+
+    // binders resolved for value classes
+    private static final Map<Class<?>, ParameterBinder> _valueBinders = new ConcurrentHashMap<>(20);
+
+    // binders resolved for registered data types by type name
+    private static final Map<String, ParameterBinder> _typeBinders = new ConcurrentHashMap<>(35);
+
+    static {
+        _dataClassBinders.put(String.class, STRING);
+        _dataClassBinders.put(Boolean.class, BOOLEAN);
+        _dataClassBinders.put(Byte.class, BYTE);
+        _dataClassBinders.put(Short.class, SHORT);
+        _dataClassBinders.put(Integer.class, INTEGER);
+        _dataClassBinders.put(Long.class, LONG);
+        _dataClassBinders.put(Float.class, FLOAT);
+        _dataClassBinders.put(Double.class, DOUBLE);
+        _dataClassBinders.put(byte[].class, BYTES);
+        _dataClassBinders.put(UUID.class, UUID_BYTES);
+        _dataClassBinders.put(Date.class, TIMESTAMP);
+        _dataClassBinders.put(Timestamp.class, TIMESTAMP);
+    }
+
+    /**
+     * Get the binder for values of a data type.
+     *
+     * <p>The type is resolved from the provider's data type registry by name and
+     * the binder is cached per registered type. Types that are not registered
+     * are resolved from their own data class.</p>
+     *
+     * @param type  The data type.
+     */
+    static ParameterBinder forType(ISqlDbType type) {
+
+        String name = type.getName();
+
+        ParameterBinder binder = _typeBinders.get(name);
+        if (binder != null)
+            return binder;
+
+        ISqlDbType registered = MySqlProvider.getProvider().getDataType(name);
+        if (registered == null)
+            return forDataClass(type.getDataClass());
+
+        binder = forDataClass(registered.getDataClass());
+        _typeBinders.put(name, binder);
+        return binder;
+    }
+
+    /*
+     * Get the binder for values of a data class.
+     */
+    private static ParameterBinder forDataClass(Class<?> dataClass) {
+
+        ParameterBinder binder = _dataClassBinders.get(box(dataClass));
+        return binder != null ? binder : GENERIC;
+    }
+
+    /**
+     * Get the binder for a value.
+     *
+     * @param value  The value.
+     */
+    static ParameterBinder forValue(@Nullable Object value) {
+        return value == null ? GENERIC : forClass(value.getClass());
+    }
+
+    /*
+     * Get the binder for a value class. Subclasses of a data class are
+     * resolved once and the result is kept.
+     */
+    private static ParameterBinder forClass(Class<?> clazz) {
+
+        ParameterBinder binder = _dataClassBinders.get(clazz);
+        if (binder != null)
+            return binder;
+
+        binder = _valueBinders.get(clazz);
+        if (binder != null)
+            return binder;
+
+        binder = Date.class.isAssignableFrom(clazz) ? TIMESTAMP : GENERIC;
+
+        _valueBinders.put(clazz, binder);
+        return binder;
+    }
+
+    /*
+     * Write a UUID as 16 big endian bytes.
+     */
+    static byte[] toBytes(UUID uuid) {
+
+        byte[] bytes = new byte[16];
+
+        long most = uuid.getMostSignificantBits();
+        long least = uuid.getLeastSignificantBits();
+
+        for (int i = 7; i >= 0; i--) {
+            bytes[i] = (byte) most;
+            bytes[i + 8] = (byte) least;
+            most >>>= 8;
+            least >>>= 8;
+        }
+
+        return bytes;
+    }
+
+    private static Class<?> box(Class<?> clazz) {
+
+        if (!clazz.isPrimitive())
+            return clazz;
+
+        if (clazz == boolean.class) return Boolean.class;
+        if (clazz == byte.class) return Byte.class;
+        if (clazz == short.class) return Short.class;
+        if (clazz == int.class) return Integer.class;
+        if (clazz == long.class) return Long.class;
+        if (clazz == float.class) return Float.class;
+        if (clazz == double.class) return Double.class;
+
+        return clazz;
+    }
+}
@@ -0,0 +1,279 @@
+package com.jcwhatever.nucleus.providers.mysql.statements;
+
+import com.jcwhatever.nucleus.utils.PreCon;
+
+import javax.annotation.Nullable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Statement parameter value buffer.
+ *
+ * <p>Primitive values added with the typed add methods are stored unboxed and
+ * bound to the prepared statement with the matching primitive setter. Integer,
+ * Long, Double and Boolean values added as objects are unboxed into the same
+ * primitive slots. Other values are stored as objects.</p>
+ *
+ * <p>Values read through the {@link java.util.List} interface are boxed on demand.</p>
+ */
+public class ParameterBuffer extends AbstractList<Object> implements RandomAccess {
+
+    private static final byte OBJECT = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEAN = 4;
+
+    private byte[] _kinds;
+    private long[] _primitives;
+    private Object[] _objects;
+    private int _size;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity  The initial capacity.
+     */
+    public ParameterBuffer(int capacity) {
+        PreCon.positiveNumber(capacity);
+
+        _kinds = new byte[capacity];
+        _primitives = new long[capacity];
+        _objects = new Object[capacity];
+    }
+
+    /**
+     * Private copy constructor. The copy is trimmed to size.
+     */
+    private ParameterBuffer(ParameterBuffer source) {
+        _size = source._size;
+        _kinds = Arrays.copyOf(source._kinds, _size);
+        _primitives = Arrays.copyOf(source._primitives, _size);
+        _objects = Arrays.copyOf(source._objects, _size);
+    }
+
+    /**
+     * Add an int value.
+     *
+     * @param value  The value.
+     */
+    public void addInt(int value) {
+        addPrimitive(INT, value);
+    }
+
+    /**
+     * Add a long value.
+     *
+     * @param value  The value.
+     */
+    public void addLong(long value) {
+        addPrimitive(LONG, value);
+    }
+
+    /**
+     * Add a double value.
+     *
+     * @param value  The value.
+     */
+    public void addDouble(double value) {
+        addPrimitive(DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Add a boolean value.
+     *
+     * @param value  The value.
+     */
+    public void addBoolean(boolean value) {
+        addPrimitive(BOOLEAN, value ? 1 : 0);
+    }
+
+    @Override
+    public boolean add(@Nullable Object value) {
+        ensureCapacity(_size + 1);
+
+        store(_size, value);
+        _size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public Object set(int index, @Nullable Object value) {
+        Object previous = get(index);
+
+        store(index, value);
+        return previous;
+    }
+
+    @Override
+    public boolean addAll(Collection<?> values) {
+
+        if (!(values instanceof ParameterBuffer))
+            return super.addAll(values);
+
+        ParameterBuffer source = (ParameterBuffer) values;
+        int size = source._size;
+
+        if (size == 0)
+            return false;
+
+        ensureCapacity(_size + size);
+
+        System.arraycopy(source._kinds, 0, _kinds, _size, size);
+        System.arraycopy(source._primitives, 0, _primitives, _size, size);
+        System.arraycopy(source._objects, 0, _objects, _size, size);
+
+        _size += size;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public Object get(int index) {
+        if (index < 0 || index >= _size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + _size);
+
+        long primitive = _primitives[index];
+
+        switch (_kinds[index]) {
+            case INT:
+                return (int) primitive;
+            case LONG:
+                return primitive;
+            case DOUBLE:
+                return Double.longBitsToDouble(primitive);
+            case BOOLEAN:
+                return primitive != 0;
+            default:
+                return _objects[index];
+        }
+    }
+
+    @Override
+    public int size() {
+        return _size;
+    }
+
+    @Override
+    public void clear() {
+        // release object references
+        Arrays.fill(_objects, 0, _size, null);
+        _size = 0;
+        modCount++;
+    }
+
+    /*
+     * Get the number of values the buffer can hold without growing.
+     */
+    int capacity() {
+        return _kinds.length;
+    }
+
+    /**
+     * Get a copy of the buffer trimmed to size.
+     */
+    public ParameterBuffer copy() {
+        return new ParameterBuffer(this);
+    }
+
+    /*
+     * Bind the values to a prepared statement starting at the specified parameter
+     * index. Primitive values are bound without boxing, objects are bound with the
+     * specified binders. Returns the index after the last bound value.
+     */
+    int bind(PreparedStatement statement, int startIndex, @Nullable ParameterBinder[] binders)
+            throws SQLException {
+
+        for (int i = 0; i < _size; i++) {
+
+            int index = startIndex + i;
+            long primitive = _primitives[i];
+
+            switch (_kinds[i]) {
+                case INT:
+                    statement.setInt(index, (int) primitive);
+                    break;
+                case LONG:
+                    statement.setLong(index, primitive);
+                    break;
+                case DOUBLE:
+                    statement.setDouble(index, Double.longBitsToDouble(primitive));
+                    break;
+                case BOOLEAN:
+                    statement.setBoolean(index, primitive != 0);
+                    break;
+                default:
+                    ParameterBinder binder = binders != null && binders[i] != null
+                            ? binders[i]
+                            : ParameterBinder.forValue(_objects[i]);
+
+                    binder.bind(statement, index, _objects[i]);
+                    break;
+            }
+        }
+
+        return startIndex + _size;
+    }
+
+    /*
+     * Store a value in a slot, unboxing known primitive wrappers.
+     */
+    private void store(int index, @Nullable Object value) {
+
+        byte kind;
+        long primitive;
+
+        if (value instanceof Integer) {
+            kind = INT;
+            primitive = (Integer) value;
+        }
+        else if (value instanceof Long) {
+            kind = LONG;
+            primitive = (Long) value;
+        }
+        else if (value instanceof Double) {
+            kind = DOUBLE;
+            primitive = Double.doubleToRawLongBits((Double) value);
+        }
+        else if (value instanceof Boolean) {
+            kind = BOOLEAN;
+            primitive = (Boolean) value ? 1 : 0;
+        }
+        else {
+            _kinds[index] = OBJECT;
+            _objects[index] = value;
+            return;
+        }
+
+        _kinds[index] = kind;
+        _primitives[index] = primitive;
+        _objects[index] = null;
+    }
+
+    private void addPrimitive(byte kind, long value) {
+        ensureCapacity(_size + 1);
+
+        _kinds[_size] = kind;
+        _primitives[_size] = value;
+        _objects[_size] = null;
+        _size++;
+        modCount++;
+    }
+
+    private void ensureCapacity(int capacity) {
+
+        if (capacity <= _kinds.length)
+            return;
+
+        int newCapacity = Math.max(capacity, _kinds.length * 2);
+
+        _kinds = Arrays.copyOf(_kinds, newCapacity);
+        _primitives = Arrays.copyOf(_primitives, newCapacity);
+        _objects = Arrays.copyOf(_objects, newCapacity);
+    }
+}
@@ -0,0 +1,82 @@
+package com.jcwhatever.nucleus.providers.mysql.statements;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queue wait time metrics for a {@link StatementPriority} class.
+ *
+ * <p>Wait time is measured from the moment work is submitted to the
+ * {@link StatementExecutor} until an executor thread starts it.</p>
+ */
+public class QueueWaitStats {
+
+    private final StatementPriority _priority;
+    private final AtomicLong _started = new AtomicLong();
+    private final AtomicLong _totalWait = new AtomicLong();
+    private final AtomicLong _maxWait = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param priority  The priority class the metrics are for.
+     */
+    QueueWaitStats(StatementPriority priority) {
+        _priority = priority;
+    }
+
+    /**
+     * Get the priority class the metrics are for.
+     */
+    public StatementPriority getPriority() {
+        return _priority;
+    }
+
+    /**
+     * Get the total number of units of work started.
+     */
+    public long getStarted() {
+        return _started.get();
+    }
+
+    /**
+     * Get the average time work waited in the queue in milliseconds.
+     */
+    public double getAverageWaitMillis() {
+        long started = _started.get();
+        if (started == 0)
+            return 0;
+
+        return (_totalWait.get() / (double)started) / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Get the longest time work waited in the queue in milliseconds.
+     */
+    public double getMaxWaitMillis() {
+        return _maxWait.get() / (double)TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Register the queue wait time of work that was started.
+     *
+     * @param waitNanos  The wait time in nanoseconds.
+     */
+    void registerWait(long waitNanos) {
+        _started.incrementAndGet();
+        _totalWait.addAndGet(waitNanos);
+
+        long max;
+        while (waitNanos > (max = _maxWait.get())) {
+            if (_maxWait.compareAndSet(max, waitNanos))
+                break;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return _priority.name() + "{started=" + getStarted()
+                + ", avgWaitMs=" + getAverageWaitMillis()
+                + ", maxWaitMs=" + getMaxWaitMillis() + '}';
+    }
+}
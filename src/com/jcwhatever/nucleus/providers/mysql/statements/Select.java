@@ -36,23 +36,22 @@ import java.util.List;
  */
 public class Select implements ISqlSelect {
 
-    private static final StatementSizeTracker _sizeTracker = new StatementSizeTracker(100, 25);
-
     private Statement _statement;
     private final Table _table;
 
     private Operator _operator;
     private BoolOperator _boolOperator;
-    private final Where _where = new Where();
-    private final Join _join = new Join();
-    private final JoinClause _joinClause = new JoinClause();
-    private final Final _final = new Final();
+    private Where _where;
+    private Join _join;
+    private JoinClause _joinClause;
+    private Final _final;
 
     private boolean _isSelectInto;
     private boolean _isFinalized;
     private boolean _selectAll;
     private boolean _hasJoins;
     private FinalizedStatement _finalized;
+    private int _shape = StatementShape.SELECT;
 
     /**
      * Constructor.
@@ -68,13 +67,62 @@ public class Select implements ISqlSelect {
         PreCon.notNull(columns);
 
         _table = table;
-        _statement = query == null ? new Statement(table.getDatabase(), _sizeTracker.getSize(), 5) : query;
+        _statement = query == null
+                ? new Statement(table.getDatabase(), table.getSizeTracker(StatementShape.SELECT).getSize(), 5)
+                : query;
         _selectAll = columns.length == 0;
 
         _statement.setColumns(columns.length > 0 ? columns : table.getDefinition().getColumnNames());
         _statement.setType(StatementType.QUERY);
     }
 
+    /**
+     * Set the priority class the statement is executed with.
+     *
+     * <p>Applies to all statements in the current statement context.</p>
+     *
+     * @param priority  The priority.
+     *
+     * @return  Self for chaining.
+     */
+    public Select priority(StatementPriority priority) {
+        assertNotFinalized();
+
+        _statement.setPriority(priority);
+        return this;
+    }
+
+    /**
+     * Set the query timeout in seconds the statement is executed with.
+     *
+     * <p>Applies to all statements in the current statement context.</p>
+     *
+     * @param seconds  The timeout. 0 for no timeout, -1 to use the database default.
+     *
+     * @return  Self for chaining.
+     */
+    public Select timeout(int seconds) {
+        assertNotFinalized();
+
+        _statement.setQueryTimeout(seconds);
+        return this;
+    }
+
+    /**
+     * Execute the query on the primary database instead of a read replica.
+     *
+     * <p>Use to read rows written by statements that may not have
+     * reached the replicas yet.</p>
+     *
+     * @return  Self for chaining.
+     */
+    public Select readPrimary() {
+        assertNotFinalized();
+
+        _statement.setPrimaryRequired(true);
+        return this;
+    }
+
     @Override
     public ISqlSelectWhere into(String tableName) {
         PreCon.notNullOrEmpty(tableName);
@@ -129,19 +177,19 @@ public class Select implements ISqlSelect {
             writeCompoundStatements();
         }
 
-        return _where;
+        return getWhere();
     }
 
     @Override
     public Operator where(String column) {
         writeBeginning();
-        return _where.where(column);
+        return getWhere().where(column);
     }
 
     @Override
     public Operator where(ISqlTable table, String column) {
         writeBeginning();
-        return _where.where(table, column);
+        return getWhere().where(table, column);
     }
 
     @Override
@@ -210,55 +258,55 @@ public class Select implements ISqlSelect {
     @Override
     public Final limit(int count) {
         writeBeginning();
-        return _final.limit(count);
+        return getFinal().limit(count);
     }
 
     @Override
     public Final limit(int offset, int count) {
         writeBeginning();
-        return _final.limit(offset, count);
+        return getFinal().limit(offset, count);
     }
 
     @Override
     public Final orderByAscend(String columnName) {
         writeBeginning();
-        return _final.orderByAscend(columnName);
+        return getFinal().orderByAscend(columnName);
     }
 
     @Override
     public Final orderByAscend(ISqlTable table, String columnName) {
         writeBeginning();
-        return _final.orderByAscend(table, columnName);
+        return getFinal().orderByAscend(table, columnName);
     }
 
     @Override
     public Final orderByDescend(String columnName) {
         writeBeginning();
-        return _final.orderByDescend(columnName);
+        return getFinal().orderByDescend(columnName);
     }
 
     @Override
     public Final orderByDescend(ISqlTable table, String columnName) {
         writeBeginning();
-        return _final.orderByDescend(table, columnName);
+        return getFinal().orderByDescend(table, columnName);
     }
 
     @Override
     public Final orderBy(String columnName, SqlOrder order) {
         writeBeginning();
-        return _final.orderBy(columnName, order);
+        return getFinal().orderBy(columnName, order);
     }
 
     @Override
     public Final orderBy(ISqlTable table, String columnName, SqlOrder order) {
         writeBeginning();
-        return _final.orderBy(table, columnName, order);
+        return getFinal().orderBy(table, columnName, order);
     }
 
     @Override
     public Final orderBy(IOrderGenerator orderGenerator) {
         writeBeginning();
-        return _final.orderBy(orderGenerator);
+        return getFinal().orderBy(orderGenerator);
     }
 
     private boolean isName(String name) {
@@ -275,7 +323,7 @@ public class Select implements ISqlSelect {
             return _finalized;
 
         writeBeginning();
-        _sizeTracker.registerSize(_statement.length());
+        _table.getSizeTracker(_shape).registerSize(_statement.length());
         _finalized = _statement.finalizeStatement(_table);
         _isFinalized = true;
         return _finalized;
@@ -287,6 +335,18 @@ public class Select implements ISqlSelect {
                     "and cannot be modified.");
     }
 
+    /*
+     * Add a clause flag to the statement shape and grow the statement
+     * buffer to the size tracked for the new shape.
+     */
+    private void addClause(int clause) {
+        if ((_shape & clause) != 0)
+            return;
+
+        _shape |= clause;
+        _statement.getBuffer().ensureCapacity(_table.getSizeTracker(_shape).getSize());
+    }
+
     private void writeBeginning() {
         if (_statement.length() != 0)
             return;
@@ -426,21 +486,49 @@ public class Select implements ISqlSelect {
     public JoinClause innerJoin(ISqlTable table) {
         _hasJoins = true;
         writeBeginning();
-        return _join.innerJoin(table);
+        return getJoin().innerJoin(table);
     }
 
     @Override
     public JoinClause leftJoin(ISqlTable table) {
         _hasJoins = true;
         writeBeginning();
-        return _join.leftJoin(table);
+        return getJoin().leftJoin(table);
     }
 
     @Override
     public JoinClause rightJoin(ISqlTable table) {
         _hasJoins = true;
         writeBeginning();
-        return _join.rightJoin(table);
+        return getJoin().rightJoin(table);
+    }
+
+    private Where getWhere() {
+        if (_where == null)
+            _where = new Where();
+
+        return _where;
+    }
+
+    private Join getJoin() {
+        if (_join == null)
+            _join = new Join();
+
+        return _join;
+    }
+
+    private JoinClause getJoinClause() {
+        if (_joinClause == null)
+            _joinClause = new JoinClause();
+
+        return _joinClause;
+    }
+
+    private Final getFinal() {
+        if (_final == null)
+            _final = new Final();
+
+        return _final;
     }
 
     private class Join implements ISqlSelectJoin {
@@ -452,6 +540,8 @@ public class Select implements ISqlSelect {
             PreCon.notNull(table);
             assertNotFinalized();
 
+            addClause(StatementShape.JOIN);
+
             statement()
                     .append(" INNER JOIN `")
                     .append(table.getName())
@@ -459,7 +549,7 @@ public class Select implements ISqlSelect {
 
             _currentJoinTable = '`' + table.getName() + '`';
 
-            return _joinClause;
+            return getJoinClause();
         }
 
         @Override
@@ -467,6 +557,8 @@ public class Select implements ISqlSelect {
             PreCon.notNull(table);
             assertNotFinalized();
 
+            addClause(StatementShape.JOIN);
+
             statement()
                     .append(" LEFT JOIN `")
                     .append(table.getName())
@@ -474,7 +566,7 @@ public class Select implements ISqlSelect {
 
             _currentJoinTable = '`' + table.getName() + '`';
 
-            return _joinClause;
+            return getJoinClause();
         }
 
         @Override
@@ -482,6 +574,8 @@ public class Select implements ISqlSelect {
             PreCon.notNull(table);
             assertNotFinalized();
 
+            addClause(StatementShape.JOIN);
+
             statement()
                     .append(" RIGHT JOIN `")
                     .append(table.getName())
@@ -489,17 +583,17 @@ public class Select implements ISqlSelect {
 
             _currentJoinTable = '`' + table.getName() + '`';
 
-            return _joinClause;
+            return getJoinClause();
         }
 
         @Override
         public Operator where(String column) {
-            return _where.where(column);
+            return getWhere().where(column);
         }
 
         @Override
         public Operator where(ISqlTable table, String column) {
-            return _where.where(table, column);
+            return getWhere().where(table, column);
         }
 
         @Override
@@ -539,47 +633,47 @@ public class Select implements ISqlSelect {
 
         @Override
         public Final limit(int count) {
-            return _final.limit(count);
+            return getFinal().limit(count);
         }
 
         @Override
         public Final limit(int offset, int count) {
-            return _final.limit(offset, count);
+            return getFinal().limit(offset, count);
         }
 
         @Override
         public Final orderByAscend(String columnName) {
-            return _final.orderByAscend(columnName);
+            return getFinal().orderByAscend(columnName);
         }
 
         @Override
         public Final orderByAscend(ISqlTable table, String columnName) {
-            return _final.orderByAscend(table, columnName);
+            return getFinal().orderByAscend(table, columnName);
         }
 
         @Override
         public Final orderByDescend(String columnName) {
-            return _final.orderByDescend(columnName);
+            return getFinal().orderByDescend(columnName);
         }
 
         @Override
         public Final orderByDescend(ISqlTable table, String columnName) {
-            return _final.orderByDescend(table, columnName);
+            return getFinal().orderByDescend(table, columnName);
         }
 
         @Override
         public Final orderBy(String columnName, SqlOrder order) {
-            return _final.orderBy(columnName, order);
+            return getFinal().orderBy(columnName, order);
         }
 
         @Override
         public Final orderBy(ISqlTable table, String columnName, SqlOrder order) {
-            return _final.orderBy(table, columnName, order);
+            return getFinal().orderBy(table, columnName, order);
         }
 
         @Override
         public Final orderBy(IOrderGenerator orderGenerator) {
-            return _final.orderBy(orderGenerator);
+            return getFinal().orderBy(orderGenerator);
         }
 
         @Override
@@ -592,12 +686,12 @@ public class Select implements ISqlSelect {
 
         @Override
         public Operator where(String column) {
-            return _where.where(column);
+            return getWhere().where(column);
         }
 
         @Override
         public ISqlSelectOperator where(ISqlTable table, String column) {
-            return _where.where(table, column);
+            return getWhere().where(table, column);
         }
 
         @Override
@@ -619,7 +713,7 @@ public class Select implements ISqlSelect {
 
             if (isName(column)) {
                 statement()
-                        .append(_join._currentJoinTable)
+                        .append(getJoin()._currentJoinTable)
                         .append(".`")
                         .append(column)
                         .append("`=");
@@ -640,7 +734,7 @@ public class Select implements ISqlSelect {
                 statement().append(otherColumn);
             }
 
-            return _join;
+            return getJoin();
         }
 
         @Override
@@ -680,47 +774,47 @@ public class Select implements ISqlSelect {
 
         @Override
         public Final limit(int count) {
-            return _final.limit(count);
+            return getFinal().limit(count);
         }
 
         @Override
         public Final orderByAscend(String columnName) {
-            return _final.orderByAscend(columnName);
+            return getFinal().orderByAscend(columnName);
         }
 
         @Override
         public Final orderByAscend(ISqlTable table, String columnName) {
-            return _final.orderByAscend(table, columnName);
+            return getFinal().orderByAscend(table, columnName);
         }
 
         @Override
         public Final orderByDescend(String columnName) {
-            return _final.orderByDescend(columnName);
+            return getFinal().orderByDescend(columnName);
         }
 
         @Override
         public Final orderByDescend(ISqlTable table, String columnName) {
-            return _final.orderByDescend(table, columnName);
+            return getFinal().orderByDescend(table, columnName);
         }
 
         @Override
         public Final orderBy(String columnName, SqlOrder order) {
-            return _final.orderBy(columnName, order);
+            return getFinal().orderBy(columnName, order);
         }
 
         @Override
         public Final orderBy(ISqlTable table, String columnName, SqlOrder order) {
-            return _final.orderBy(table, columnName, order);
+            return getFinal().orderBy(table, columnName, order);
         }
 
         @Override
         public Final orderBy(IOrderGenerator orderGenerator) {
-            return _final.orderBy(orderGenerator);
+            return getFinal().orderBy(orderGenerator);
         }
 
         @Override
         public Final limit(int offset, int count) {
-            return _final.limit(offset, count);
+            return getFinal().limit(offset, count);
         }
 
         @Override
@@ -736,6 +830,8 @@ public class Select implements ISqlSelect {
             PreCon.notNullOrEmpty(column);
             assertNotFinalized();
 
+            addClause(StatementShape.WHERE);
+
             statement()
                     .append(" WHERE `")
                     .append(column)
@@ -755,6 +851,8 @@ public class Select implements ISqlSelect {
             PreCon.notNullOrEmpty(column);
             assertNotFinalized();
 
+            addClause(StatementShape.WHERE);
+
             statement()
                     .append(" WHERE `")
                     .append(table.getName())
@@ -812,47 +910,47 @@ public class Select implements ISqlSelect {
 
         @Override
         public Final limit(int count) {
-            return _final.limit(count);
+            return getFinal().limit(count);
         }
 
         @Override
         public Final limit(int offset, int count) {
-            return _final.limit(offset, count);
+            return getFinal().limit(offset, count);
         }
 
         @Override
         public Final orderByAscend(String columnName) {
-            return _final.orderByAscend(columnName);
+            return getFinal().orderByAscend(columnName);
         }
 
         @Override
         public Final orderByAscend(ISqlTable table, String columnName) {
-            return _final.orderByAscend(table, columnName);
+            return getFinal().orderByAscend(table, columnName);
         }
 
         @Override
         public Final orderByDescend(String columnName) {
-            return _final.orderByDescend(columnName);
+            return getFinal().orderByDescend(columnName);
         }
 
         @Override
         public Final orderByDescend(ISqlTable table, String columnName) {
-            return _final.orderByDescend(table, columnName);
+            return getFinal().orderByDescend(table, columnName);
         }
 
         @Override
         public Final orderBy(String columnName, SqlOrder order) {
-            return _final.orderBy(columnName, order);
+            return getFinal().orderBy(columnName, order);
         }
 
         @Override
         public Final orderBy(ISqlTable table, String columnName, SqlOrder order) {
-            return _final.orderBy(table, columnName, order);
+            return getFinal().orderBy(table, columnName, order);
         }
 
         @Override
         public Final orderBy(IOrderGenerator orderGenerator) {
-            return _final.orderBy(orderGenerator);
+            return getFinal().orderBy(orderGenerator);
         }
     }
 
@@ -958,47 +1056,47 @@ public class Select implements ISqlSelect {
 
         @Override
         public Final limit(int count) {
-            return _final.limit(count);
+            return getFinal().limit(count);
         }
 
         @Override
         public Final limit(int offset, int count) {
-            return _final.limit(offset, count);
+            return getFinal().limit(offset, count);
         }
 
         @Override
         public Final orderByAscend(String columnName) {
-            return _final.orderByAscend(columnName);
+            return getFinal().orderByAscend(columnName);
         }
 
         @Override
         public Final orderByAscend(ISqlTable table, String columnName) {
-            return _final.orderByAscend(table, columnName);
+            return getFinal().orderByAscend(table, columnName);
         }
 
         @Override
         public Final orderByDescend(String columnName) {
-            return _final.orderByDescend(columnName);
+            return getFinal().orderByDescend(columnName);
         }
 
         @Override
         public Final orderByDescend(ISqlTable table, String columnName) {
-            return _final.orderByDescend(table, columnName);
+            return getFinal().orderByDescend(table, columnName);
         }
 
         @Override
         public Final orderBy(String columnName, SqlOrder order) {
-            return _final.orderBy(columnName, order);
+            return getFinal().orderBy(columnName, order);
         }
 
         @Override
         public Final orderBy(ISqlTable table, String columnName, SqlOrder order) {
-            return _final.orderBy(table, columnName, order);
+            return getFinal().orderBy(table, columnName, order);
         }
 
         @Override
         public Final orderBy(IOrderGenerator orderGenerator) {
-            return _final.orderBy(orderGenerator);
+            return getFinal().orderBy(orderGenerator);
         }
     }
 
@@ -2,26 +2,40 @@ package com.jcwhatever.nucleus.providers.mysql.statements;
 
 import com.jcwhatever.nucleus.providers.mysql.table.Table;
 import com.jcwhatever.nucleus.providers.sql.ISqlDatabase;
+import com.jcwhatever.nucleus.providers.sql.ISqlTableDefinition.ISqlTableColumn;
 import com.jcwhatever.nucleus.utils.PreCon;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.annotation.Nullable;
 
 /**
  * Sql statement context buffer.
  *
  * <p>Used to construct multiple sql statements for a single context.</p>
+ *
+ * <p>The sql and value buffers are taken from a per thread pool and returned
+ * when the finalized statements are retrieved with {@link #getFinalized}. The
+ * buffers cannot be used after they are released.</p>
  */
 public class Statement {
 
     private final ISqlDatabase _database;
-    private final StringBuilder _statement;
-    private final List<Object> _values;
+    private StringBuilder _statement;
+    private ParameterBuffer _values;
+    private ParameterBinder[] _valueBinders;
+    private Map<ISqlTableColumn, ParameterBinder> _columnBinders;
+    private boolean _isReleased;
     private StatementType _type = StatementType.UPDATE;
+    private StatementPriority _priority = StatementPriority.INTERACTIVE;
+    private boolean _isPrimaryRequired;
+    private int _queryTimeout = -1;
     private List<FinalizedStatement> _list;
     private String[] _columns;
     private boolean _isPrefixed = true;
@@ -39,14 +53,15 @@ public class Statement {
         PreCon.positiveNumber(valueSize);
 
         _database = database;
-        _statement = new StringBuilder(statementSize);
-        _values = new ArrayList<>(valueSize);
+        _statement = StatementBufferPool.takeSqlBuffer(statementSize);
+        _values = StatementBufferPool.takeValueBuffer(valueSize);
     }
 
     /**
      * Get the current length of the current statement.
      */
     public int length() {
+        assertNotReleased();
         return _statement.length();
     }
 
@@ -78,6 +93,61 @@ public class Statement {
         _type = type;
     }
 
+    /**
+     * Get the priority class the finalized statements are executed with.
+     */
+    public StatementPriority getPriority() {
+        return _priority;
+    }
+
+    /**
+     * Set the priority class the finalized statements are executed with.
+     *
+     * @param priority  The priority.
+     */
+    public void setPriority(StatementPriority priority) {
+        PreCon.notNull(priority);
+
+        _priority = priority;
+    }
+
+    /**
+     * Determine if queries must be executed on the primary database
+     * instead of a read replica.
+     */
+    public boolean isPrimaryRequired() {
+        return _isPrimaryRequired;
+    }
+
+    /**
+     * Set queries to be executed on the primary database instead of a read replica.
+     *
+     * @param isRequired  True to require the primary.
+     */
+    public void setPrimaryRequired(boolean isRequired) {
+        _isPrimaryRequired = isRequired;
+    }
+
+    /**
+     * Get the query timeout in seconds the finalized statements are executed with.
+     *
+     * @return  The timeout. 0 for no timeout, -1 to use the database default.
+     */
+    public int getQueryTimeout() {
+        return _queryTimeout;
+    }
+
+    /**
+     * Set the query timeout in seconds the finalized statements are executed with.
+     *
+     * @param seconds  The timeout. 0 for no timeout, -1 to use the database default.
+     */
+    public void setQueryTimeout(int seconds) {
+        PreCon.isValid(seconds >= -1, "Timeout must be -1 or greater.");
+
+        _queryTimeout = seconds;
+    }
+
     /**
      * Get the current statement affected column names.
      */
@@ -101,24 +171,75 @@ public class Statement {
      * Get the sql statement buffer.
      */
     public StringBuilder getBuffer() {
+        assertNotReleased();
         return _statement;
     }
 
     /**
      * Get the values buffer.
+     *
+     * <p>Use the typed add methods of the buffer to add primitive
+     * values without boxing.</p>
      */
-    public List<Object> getValues() {
+    public ParameterBuffer getValues() {
+        assertNotReleased();
         return _values;
     }
 
+    /**
+     * Add a value to the values buffer and record the binder of the table
+     * column the value is inserted into.
+     *
+     * <p>The binder is resolved once per column and reused for the values of
+     * every statement constructed with the {@link Statement}.</p>
+     *
+     * @param value   The value.
+     * @param column  The column the value is inserted into.
+     */
+    public void addValue(@Nullable Object value, ISqlTableColumn column) {
+        PreCon.notNull(column);
+        assertNotReleased();
+
+        int index = _values.size();
+        _values.add(value);
+
+        if (_valueBinders == null) {
+            _valueBinders = new ParameterBinder[Math.max(index + 1, 10)];
+        }
+        else if (index >= _valueBinders.length) {
+            _valueBinders = Arrays.copyOf(_valueBinders, Math.max(index + 1, _valueBinders.length * 2));
+        }
+
+        if (_columnBinders == null)
+            _columnBinders = new IdentityHashMap<>(10);
+
+        ParameterBinder binder = _columnBinders.get(column);
+        if (binder == null) {
+            binder = ParameterBinder.forType(column.getDataType());
+            _columnBinders.put(column, binder);
+        }
+
+        _valueBinders[index] = binder;
+    }
+
     /**
      * Get all finalized statements.
+     *
+     * <p>Releases the sql and value buffers. Statements can no longer be
+     * constructed afterwards.</p>
      */
     public FinalizedStatements getFinalized() {
-        if (_list == null)
-            return new FinalizedStatements(_database);
 
-        return new FinalizedStatements(_database, _list);
+        release();
+
+        FinalizedStatements result = _list == null
+                ? new FinalizedStatements(_database)
+                : new FinalizedStatements(_database, _list);
+
+        result.setPriority(_priority);
+        result.setPrimaryRequired(_isPrimaryRequired);
+        result.setQueryTimeout(_queryTimeout);
+        return result;
     }
 
     /**
@@ -152,14 +273,15 @@ public class Statement {
     @Nullable
     public FinalizedStatement finalizeStatement(Table table) {
         PreCon.notNull(table);
+        assertNotReleased();
 
         FinalizedStatement result = null;
 
         if (_statement.length() != 0) {
             initList();
             result = new FinalizedStatement(
-                    table, _statement.toString(), _values.toArray(),
-                    getColumns(), _type, _isPrefixed);
+                    table, _statement.toString(), _values.copy(),
+                    getColumns(), _type, _isPrefixed, valueBinders());
             _list.add(result);
         }
         reset();
@@ -175,11 +297,13 @@ public class Statement {
      * @param connection  The connection the statement is for.
      */
     public void finalizeStatement(Connection connection) {
+        assertNotReleased();
+
         if (_statement.length() != 0) {
             initList();
             _list.add(new FinalizedStatement(
-                    connection, _statement.toString(), _values.toArray(),
-                    getColumns(), _type, _isPrefixed));
+                    connection, _statement.toString(), _values.copy(),
+                    getColumns(), _type, _isPrefixed, valueBinders()));
         }
         reset();
     }
@@ -208,16 +332,46 @@ public class Statement {
 
     @Override
     public String toString() {
-        return _statement.toString();
+        return _isReleased ? "" : _statement.toString();
     }
 
     private void reset() {
         _statement.setLength(0);
         _values.clear();
+        _valueBinders = null;
         _columns = null;
         _isPrefixed = true;
     }
 
+    private void release() {
+        if (_isReleased)
+            return;
+
+        _isReleased = true;
+
+        StatementBufferPool.recycle(_statement, _values);
+        _statement = null;
+        _values = null;
+        _columnBinders = null;
+    }
+
+    private void assertNotReleased() {
+        if (_isReleased)
+            throw new IllegalStateException("The statement buffers are released " +
+                    "and cannot be used.");
+    }
+
+    /*
+     * Get the recorded value binders trimmed to the number of values.
+     */
+    @Nullable
+    private ParameterBinder[] valueBinders() {
+        if (_valueBinders == null)
+            return null;
+
+        return Arrays.copyOf(_valueBinders, _values.size());
+    }
+
     private void initList() {
         if (_list == null)
             _list = new ArrayList<>(4);
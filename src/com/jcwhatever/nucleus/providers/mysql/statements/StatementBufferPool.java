@@ -0,0 +1,91 @@
+package com.jcwhatever.nucleus.providers.mysql.statements;
+
+import com.jcwhatever.nucleus.utils.ThreadSingletons;
+import com.jcwhatever.nucleus.utils.ThreadSingletons.ISingletonFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/*
+ * Per thread pool of the sql and value buffers used by a {@link Statement}.
+ *
+ * Buffers are taken when a statement is constructed and returned when its
+ * statements are finalized for execution. Each thread keeps a few buffers so
+ * that builders used on the same thread reuse them. Buffers that grew beyond
+ * the retained size limit are left to the garbage collector.
+ */
+final class StatementBufferPool {
+
+    /**
+     * The max number of buffers of each type kept per thread.
+     */
+    static final int MAX_POOLED = 8;
+
+    /**
+     * The max capacity of a sql buffer that is kept for reuse.
+     */
+    static final int MAX_SQL_CAPACITY = 8192;
+
+    /**
+     * The max capacity of a value buffer that is kept for reuse.
+     */
+    static final int MAX_VALUE_CAPACITY = 512;
+
+    private static final ThreadSingletons<StatementBufferPool> POOLS = new ThreadSingletons<>(
+            new ISingletonFactory<StatementBufferPool>() {
+                @Override
+                public StatementBufferPool create(Thread thread) {
+                    return new StatementBufferPool();
+                }
+            });
+
+    private final Deque<StringBuilder> _sqlBuffers = new ArrayDeque<>(MAX_POOLED);
+    private final Deque<ParameterBuffer> _valueBuffers = new ArrayDeque<>(MAX_POOLED);
+
+    private StatementBufferPool() {}
+
+    /*
+     * Take an empty sql buffer with at least the specified capacity.
+     */
+    static StringBuilder takeSqlBuffer(int capacity) {
+
+        StringBuilder buffer = POOLS.get()._sqlBuffers.pollFirst();
+        if (buffer == null)
+            return new StringBuilder(capacity);
+
+        buffer.ensureCapacity(capacity);
+        return buffer;
+    }
+
+    /*
+     * Take an empty value buffer. A new buffer is created with the specified
+     * capacity, a pooled buffer is returned as is and grows as needed.
+     */
+    static ParameterBuffer takeValueBuffer(int capacity) {
+
+        ParameterBuffer buffer = POOLS.get()._valueBuffers.pollFirst();
+        if (buffer == null)
+            return new ParameterBuffer(capacity);
+
+        return buffer;
+    }
+
+    /*
+     * Return buffers to the pool of the current thread. The buffers
+     * must not be used by the caller afterwards.
+     */
+    static void recycle(StringBuilder sqlBuffer, ParameterBuffer valueBuffer) {
+
+        StatementBufferPool pool = POOLS.get();
+
+        if (sqlBuffer.capacity() <= MAX_SQL_CAPACITY && pool._sqlBuffers.size() < MAX_POOLED) {
+            sqlBuffer.setLength(0);
+            pool._sqlBuffers.addFirst(sqlBuffer);
+        }
+
+        if (valueBuffer.capacity() <= MAX_VALUE_CAPACITY && pool._valueBuffers.size() < MAX_POOLED) {
+            valueBuffer.clear();
+            pool._valueBuffers.addFirst(valueBuffer);
+        }
+    }
+}
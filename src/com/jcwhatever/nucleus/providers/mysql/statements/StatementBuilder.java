@@ -35,6 +35,38 @@ public class StatementBuilder implements ISqlStatementBuilder,
         _previous = previous;
     }
 
+    /**
+     * Set the priority class the statement is executed with.
+     *
+     * <p>Applies to all statements in the current statement context.</p>
+     *
+     * @param priority  The priority.
+     *
+     * @return  Self for chaining.
+     */
+    public StatementBuilder priority(StatementPriority priority) {
+        PreCon.notNull(priority);
+
+        _statement.setPriority(priority);
+        return this;
+    }
+
+    /**
+     * Set the query timeout in seconds the statement is executed with.
+     *
+     * <p>Applies to all statements in the current statement context.</p>
+     *
+     * @param seconds  The timeout. 0 for no timeout, -1 to use the database default.
+     *
+     * @return  Self for chaining.
+     */
+    public StatementBuilder timeout(int seconds) {
+        PreCon.isValid(seconds >= -1, "Timeout must be -1 or greater.");
+
+        _statement.setQueryTimeout(seconds);
+        return this;
+    }
+
     @Override
     public StatementBuilder beginTransaction() {
         _statement.startTransaction(_table.getDatabase().getConnection());
@@ -1,169 +1,1563 @@
 package com.jcwhatever.nucleus.providers.mysql.statements;
 
 import com.jcwhatever.nucleus.Nucleus;
+import com.jcwhatever.nucleus.managed.scheduler.IScheduledTask;
 import com.jcwhatever.nucleus.managed.scheduler.Scheduler;
 import com.jcwhatever.nucleus.mixins.IDisposable;
+import com.jcwhatever.nucleus.providers.mysql.ConnectionPool;
+import com.jcwhatever.nucleus.providers.mysql.Database;
+import com.jcwhatever.nucleus.providers.mysql.Msg;
+import com.jcwhatever.nucleus.providers.mysql.MySqlConnection;
+import com.jcwhatever.nucleus.providers.mysql.ReplicaSet;
+import com.jcwhatever.nucleus.providers.mysql.ReplicaSet.Replica;
 import com.jcwhatever.nucleus.providers.mysql.statements.FinalizedStatements.ExecuteResult;
 import com.jcwhatever.nucleus.providers.mysql.table.Table;
+import com.jcwhatever.nucleus.providers.sql.ISqlDatabase;
 import com.jcwhatever.nucleus.providers.sql.ISqlResult;
 import com.jcwhatever.nucleus.utils.PreCon;
 import com.jcwhatever.nucleus.utils.observer.future.FutureResultAgent;
+import com.jcwhatever.nucleus.utils.observer.future.FutureResultSubscriber;
+import com.jcwhatever.nucleus.utils.observer.future.Result;
 
+import javax.annotation.Nullable;
+
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Executes sql statements from asynchronous threads.
+ *
+ * <p>All executor threads take work from a single shared queue so that an idle
+ * executor always picks up the next pending unit of work instead of waiting
+ * behind a slow transaction on another thread.</p>
+ *
+ * <p>Ordering guarantees: units of work (a {@link Transaction} or a
+ * {@link FinalizedStatements} list) are started in the order they are submitted
+ * and the statements within a single unit always execute in order on one thread.
+ * Separate units may run concurrently on different threads, so no completion
+ * order is guaranteed between them.</p>
+ *
+ * <p>Units of work submitted with an ordering key (see {@link OrderingKey}) are
+ * placed in a lane for that key. Only one unit of work per lane runs at a time
+ * and lanes are processed in submission order, so writes to the same row commit
+ * in the order they were submitted. Different lanes still run in parallel.</p>
+ *
+ * <p>Work is queued by {@link StatementPriority}. Executors always prefer
+ * {@link StatementPriority#INTERACTIVE} work and, when there is more than one
+ * executor, the first executor only runs interactive work so it never waits
+ * behind bulk work. {@link StatementPriority#BULK} work is still given one slot
+ * for every {@link #BULK_SHARE_INTERVAL} interactive units started while bulk
+ * work is pending so that it is never starved.</p>
+ *
+ * <p>The number of pending units of work is bounded by the executor capacity.
+ * Work submitted while the executor is at capacity is handled according to the
+ * {@link OverflowPolicy}. The current queue depth and its high water mark can be
+ * read so that plugins can shed their own load.</p>
+ *
+ * <p>Executor threads hand finished work to the main thread through a lock free
+ * queue. Results are delivered each tick until the delivery time budget is used
+ * up; remaining results are delivered on the following ticks.</p>
+ *
+ * <p>Work submitted with a completion {@link Executor} (set on the
+ * {@link Transaction}, {@link FinalizedStatements} or as the {@link Database}
+ * default) bypasses the main thread and is completed by that executor instead.
+ * Use {@link #DIRECT} to complete on the statement executor thread itself.</p>
+ *
+ * <p>Group commit is opt-in. When enabled, an executor that takes an independent
+ * update statement list also takes the following independent update lists for the
+ * same database, up to the group commit size or until the group commit window
+ * elapses, and runs them in a single transaction. If a statement of the group fails,
+ * the transaction is rolled back and each list is run again on its own so that every
+ * caller receives its own result. If the commit itself or the connection fails, the
+ * writes may have been committed and every list of the group is failed instead.</p>
+ *
+ * <p>Cancelling the future of submitted work removes the work from the queue if
+ * it has not started. If it is running, the executing statement is cancelled on
+ * the server and the remaining statements are not started. Statements are executed
+ * with the query timeout of their statement list or the database default.</p>
+ *
+ * <p>Disposing the executor drains it: intake stops, all executors (including the
+ * interactive only executor) finish the queued work until the drain timeout
+ * elapses, and pending results are delivered. Work that could not be started
+ * before the timeout is written to the journal, if one is set, or failed.</p>
+ */
+public class StatementExecutor implements IDisposable {
+
+    /**
+     * The number of interactive units of work started in a row while bulk
+     * work is pending before a bulk unit of work is started.
+     */
+    public static final int BULK_SHARE_INTERVAL = 8;
+
+    /**
+     * The default maximum number of pending units of work.
+     */
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    /**
+     * The default per tick result delivery time budget in milliseconds.
+     */
+    public static final long DEFAULT_DELIVERY_BUDGET = 5;
+
+    /**
+     * The default time in milliseconds allowed for queued work to finish
+     * when the executor is disposed.
+     */
+    public static final long DEFAULT_DRAIN_TIMEOUT = 10000;
+
+    /**
+     * The default time in milliseconds an executor waits for more statements
+     * to add to a commit group.
+     */
+    public static final long DEFAULT_GROUP_COMMIT_WINDOW = 2;
+
+    /**
+     * Completion executor that completes results directly on the statement
+     * executor thread that ran the work.
+     *
+     * <p>Subscribers must not touch Bukkit state and should return quickly
+     * since they delay the next unit of work on that thread.</p>
+     */
+    public static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private final Queue<QueuedExecutable> _results = new ConcurrentLinkedQueue<>();
+    private final PriorityQueues _queue = new PriorityQueues();
+    private final Map<Object, Queue<QueuedExecutable>> _lanes = new HashMap<>(25);
+    private final QueueWaitStats[] _waitStats;
+    private final MySqlExecutorAsync[] _executors;
+    private final AtomicLong _rejected = new AtomicLong();
+    private final AtomicLong _journaled = new AtomicLong();
+    private final AtomicLong _blocked = new AtomicLong();
+    private final AtomicLong _delivered = new AtomicLong();
+    private final AtomicLong _deferredTicks = new AtomicLong();
+    private final AtomicLong _executed = new AtomicLong();
+    private final AtomicLong _groupCommits = new AtomicLong();
+    private final AtomicLong _groupFallbacks = new AtomicLong();
+    private final AtomicLong _groupFailures = new AtomicLong();
+    private final AtomicLong _cancelled = new AtomicLong();
+    private final AtomicLong _timeouts = new AtomicLong();
+    private final AtomicLong _sequence = new AtomicLong();
+    private final IScheduledTask _resultTask;
+
+    private volatile OverflowPolicy _overflowPolicy = OverflowPolicy.JOURNAL;
+    private volatile long _blockTimeout = 1000;
+    private volatile long _deliveryBudget = TimeUnit.MILLISECONDS.toNanos(DEFAULT_DELIVERY_BUDGET);
+    private volatile StatementJournal _journal;
+    private volatile long _drainTimeout = DEFAULT_DRAIN_TIMEOUT;
+    private volatile int _groupCommitSize;
+    private volatile long _groupCommitWindow = TimeUnit.MILLISECONDS.toNanos(DEFAULT_GROUP_COMMIT_WINDOW);
+    private volatile boolean _isDisposed;
+
+    /**
+     * Constructor.
+     *
+     * @param totalExecutors  The total number of executors/threads.
+     */
+    public StatementExecutor(int totalExecutors) {
+        PreCon.positiveNumber(totalExecutors);
+
+        _executors = new MySqlExecutorAsync[totalExecutors];
+
+        StatementPriority[] priorities = StatementPriority.values();
+        _waitStats = new QueueWaitStats[priorities.length];
+
+        for (StatementPriority priority : priorities) {
+            _waitStats[priority.ordinal()] = new QueueWaitStats(priority);
+        }
+
+        for (int i=0; i < totalExecutors; i++) {
+            // reserve the first executor for interactive work
+            MySqlExecutorAsync executor = new MySqlExecutorAsync(i == 0 && totalExecutors > 1);
+            executor.setName("MySqlProvider Statement Executor #" + i);
+            executor.start();
+            _executors[i] = executor;
+        }
+
+        _resultTask = Scheduler.runTaskRepeat(Nucleus.getPlugin(), 1, 1, new MySqlResultProducer());
+    }
+
+    /**
+     * Execute a transaction.
+     *
+     * @param transaction  The transaction to execute.
+     * @param agent        The result agent.
+     */
+    public void execute(Transaction transaction, FutureResultAgent<ISqlResult> agent) {
+        execute(transaction, agent, transaction.getOrderingKey());
+    }
+
+    /**
+     * Execute a transaction.
+     *
+     * @param transaction  The transaction to execute.
+     * @param agent        The result agent.
+     * @param orderingKey  Optional ordering key. Work with equal keys is executed
+     *                     one at a time in submission order.
+     */
+    public void execute(Transaction transaction, FutureResultAgent<ISqlResult> agent,
+                        @Nullable Object orderingKey) {
+        PreCon.notNull(transaction);
+        PreCon.notNull(agent);
+
+        if (isDisposed())
+            throw new IllegalStateException("StatementExecutor has been disposed.");
+
+        addStatement(new QueuedTransaction(transaction, agent, orderingKey));
+    }
+
+    /**
+     * Execute a collection of finalized statements.
+     *
+     * @param statements  The statements to execute.
+     * @param agent       The result agent.
+     */
+    public void execute(FinalizedStatements statements, FutureResultAgent<ISqlResult> agent) {
+        execute(statements, agent, statements.getOrderingKey());
+    }
+
+    /**
+     * Execute a collection of finalized statements.
+     *
+     * @param statements   The statements to execute.
+     * @param agent        The result agent.
+     * @param orderingKey  Optional ordering key. Work with equal keys is executed
+     *                     one at a time in submission order.
+     */
+    public void execute(FinalizedStatements statements, FutureResultAgent<ISqlResult> agent,
+                        @Nullable Object orderingKey) {
+        PreCon.notNull(statements);
+        PreCon.notNull(agent);
+
+        if (isDisposed())
+            throw new IllegalStateException("StatementExecutor has been disposed.");
+
+        addStatement(new QueuedStatement(statements, agent, orderingKey));
+    }
+
+    /**
+     * Get queue wait metrics for a priority class.
+     *
+     * @param priority  The priority class.
+     */
+    public QueueWaitStats getQueueWaitStats(StatementPriority priority) {
+        PreCon.notNull(priority);
+
+        return _waitStats[priority.ordinal()];
+    }
+
+    /**
+     * Get the maximum number of pending units of work.
+     */
+    public int getCapacity() {
+        return _queue.capacity;
+    }
+
+    /**
+     * Set the maximum number of pending units of work.
+     *
+     * @param capacity  The capacity.
+     */
+    public void setCapacity(int capacity) {
+        PreCon.greaterThanZero(capacity);
+
+        _queue.setCapacity(capacity);
+    }
+
+    /**
+     * Get the policy applied to work submitted while the executor is at capacity.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return _overflowPolicy;
+    }
+
+    /**
+     * Set the policy applied to work submitted while the executor is at capacity.
+     *
+     * <p>{@link OverflowPolicy#JOURNAL} requires a journal to be set. Without
+     * a journal, overflowing work is rejected.</p>
+     *
+     * @param policy  The overflow policy.
+     */
+    public void setOverflowPolicy(OverflowPolicy policy) {
+        PreCon.notNull(policy);
+
+        _overflowPolicy = policy;
+    }
+
+    /**
+     * Get the maximum time in milliseconds a submitting thread is blocked
+     * when the overflow policy is {@link OverflowPolicy#BLOCK}.
+     */
+    public long getBlockTimeout() {
+        return _blockTimeout;
+    }
+
+    /**
+     * Set the maximum time in milliseconds a submitting thread is blocked
+     * when the overflow policy is {@link OverflowPolicy#BLOCK}.
+     *
+     * @param milliseconds  The timeout in milliseconds.
+     */
+    public void setBlockTimeout(long milliseconds) {
+        PreCon.positiveNumber(milliseconds);
+
+        _blockTimeout = milliseconds;
+    }
+
+    /**
+     * Get the journal overflowing work is written to.
+     *
+     * @return  The journal or null if not set.
+     */
+    @Nullable
+    public StatementJournal getJournal() {
+        return _journal;
+    }
+
+    /**
+     * Set the journal overflowing work is written to when the overflow policy
+     * is {@link OverflowPolicy#JOURNAL}.
+     *
+     * @param journal  The journal. Null to remove.
+     */
+    public void setJournal(@Nullable StatementJournal journal) {
+        _journal = journal;
+    }
+
+    /**
+     * Get the number of pending units of work, including work waiting
+     * in an ordering lane.
+     */
+    public int getQueueDepth() {
+        return _queue.depth;
+    }
+
+    /**
+     * Get the highest queue depth since the executor was created or
+     * the high water mark was last reset.
+     */
+    public int getHighWaterMark() {
+        return _queue.highWaterMark;
+    }
+
+    /**
+     * Reset the queue depth high water mark to the current depth.
+     */
+    public void resetHighWaterMark() {
+        _queue.resetHighWaterMark();
+    }
+
+    /**
+     * Get the total number of units of work rejected because the
+     * executor was at capacity.
+     */
+    public long getRejectedCount() {
+        return _rejected.get();
+    }
+
+    /**
+     * Get the total number of units of work written to the journal
+     * because the executor was at capacity.
+     */
+    public long getJournaledCount() {
+        return _journaled.get();
+    }
+
+    /**
+     * Get the total number of times a submitting thread was blocked
+     * because the executor was at capacity.
+     */
+    public long getBlockedCount() {
+        return _blocked.get();
+    }
+
+    /**
+     * Get the per tick result delivery time budget in milliseconds.
+     */
+    public long getDeliveryBudget() {
+        return TimeUnit.NANOSECONDS.toMillis(_deliveryBudget);
+    }
+
+    /**
+     * Set the per tick result delivery time budget in milliseconds.
+     *
+     * <p>At least one result is delivered per tick regardless of the budget.</p>
+     *
+     * @param milliseconds  The budget in milliseconds.
+     */
+    public void setDeliveryBudget(long milliseconds) {
+        PreCon.positiveNumber(milliseconds);
+
+        _deliveryBudget = TimeUnit.MILLISECONDS.toNanos(milliseconds);
+    }
+
+    /**
+     * Get the total number of results delivered to subscribers.
+     */
+    public long getDeliveredCount() {
+        return _delivered.get();
+    }
+
+    /**
+     * Get the total number of ticks that ended with results left over
+     * because the delivery time budget was used up.
+     */
+    public long getDeferredTicks() {
+        return _deferredTicks.get();
+    }
+
+    /**
+     * Get the max number of independent statement lists committed together.
+     *
+     * @return  The size. 0 or 1 if group commit is disabled.
+     */
+    public int getGroupCommitSize() {
+        return _groupCommitSize;
+    }
+
+    /**
+     * Set the max number of independent statement lists committed together.
+     *
+     * @param size  The size. 0 or 1 to disable group commit.
+     */
+    public void setGroupCommitSize(int size) {
+        PreCon.positiveNumber(size);
+
+        _groupCommitSize = size;
+    }
+
+    /**
+     * Get the time in milliseconds an executor waits for more statements
+     * to add to a commit group.
+     */
+    public long getGroupCommitWindow() {
+        return TimeUnit.NANOSECONDS.toMillis(_groupCommitWindow);
+    }
+
+    /**
+     * Set the time in milliseconds an executor waits for more statements
+     * to add to a commit group.
+     *
+     * <p>A group is started without waiting if statements are already queued.
+     * The window only delays the first statement of a group when the queue
+     * runs empty.</p>
+     *
+     * @param milliseconds  The window in milliseconds. 0 to never wait.
+     */
+    public void setGroupCommitWindow(long milliseconds) {
+        PreCon.positiveNumber(milliseconds);
+
+        _groupCommitWindow = TimeUnit.MILLISECONDS.toNanos(milliseconds);
+    }
+
+    /**
+     * Get the number of commit groups executed in a single transaction.
+     */
+    public long getGroupCommitCount() {
+        return _groupCommits.get();
+    }
+
+    /**
+     * Get the number of commit groups that failed and were run again
+     * one statement list at a time.
+     */
+    public long getGroupFallbackCount() {
+        return _groupFallbacks.get();
+    }
+
+    /**
+     * Get the number of commit groups that failed during the commit or with a
+     * connection error. The statement lists of those groups are failed and
+     * not run again since the writes may have been committed.
+     */
+    public long getGroupFailureCount() {
+        return _groupFailures.get();
+    }
+
+    /**
+     * Get the number of units of work cancelled before or while running.
+     */
+    public long getCancelledCount() {
+        return _cancelled.get();
+    }
+
+    /**
+     * Get the number of units of work that failed because a statement
+     * exceeded its query timeout.
+     */
+    public long getTimeoutCount() {
+        return _timeouts.get();
+    }
+
+    /**
+     * Get the number of finished units of work waiting to be delivered.
+     */
+    public int getPendingResults() {
+        return _results.size();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return _isDisposed;
+    }
+
+    @Override
+    public void dispose() {
+        drain(_drainTimeout);
+    }
+
+    /**
+     * Get the time in milliseconds allowed for queued work to finish
+     * when the executor is disposed.
+     */
+    public long getDrainTimeout() {
+        return _drainTimeout;
+    }
+
+    /**
+     * Set the time in milliseconds allowed for queued work to finish
+     * when the executor is disposed.
+     *
+     * @param milliseconds  The timeout in milliseconds.
+     */
+    public void setDrainTimeout(long milliseconds) {
+        PreCon.positiveNumber(milliseconds);
+
+        _drainTimeout = milliseconds;
+    }
+
+    /**
+     * Stop accepting work, finish queued work and dispose the executor.
+     *
+     * <p>Should be invoked from the main thread so that results of the
+     * drained work can be delivered.</p>
+     *
+     * @param timeout  The maximum time in milliseconds to wait for queued work to finish.
+     *
+     * @return  A report of the drained work or null if already disposed.
+     */
+    @Nullable
+    public DrainReport drain(long timeout) {
+        PreCon.positiveNumber(timeout);
+
+        if (_isDisposed)
+            return null;
+
+        // stop intake
+        _isDisposed = true;
+        _resultTask.cancel();
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeout);
+        long executedBefore = _executed.get();
+        int pending = _queue.depth;
+
+        // executors exit once the queue is empty
+        _queue.shutdown();
+
+        for (MySqlExecutorAsync executor : _executors) {
+            try {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining > 0)
+                    executor.join(remaining);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        int inFlight = 0;
+        for (MySqlExecutorAsync executor : _executors) {
+            if (executor.isAlive()) {
+                executor.interrupt();
+                inFlight++;
+            }
+        }
+
+        // collect work that was never started
+        List<QueuedExecutable> unstarted = _queue.clear();
+
+        int laneCount = 0;
+
+        synchronized (_lanes) {
+            for (Queue<QueuedExecutable> lane : _lanes.values()) {
+                unstarted.addAll(lane);
+                laneCount += lane.size();
+            }
+            _lanes.clear();
+        }
+
+        // lane work counts towards the queue depth
+        _queue.release(laneCount);
+
+        int journaled = 0;
+        StatementJournal journal = _journal;
+
+        // overflow written in the background is written before the drained work
+        if (journal != null)
+            journal.flush(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+
+        for (QueuedExecutable queued : unstarted) {
+
+            // replaying reads has no effect
+            if (journal != null && !queued.isQueryOnly()) {
+                try {
+                    queued.journal(journal);
+                    journaled++;
+                    queued.agent.error(null, "Executor shut down. Statements written to journal '{0}'.",
+                            journal.getFile().getPath());
+                    continue;
+                }
+                catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+
+            queued.agent.error(null, "Executor shut down before statements were executed.");
+        }
+
+        // deliver results of drained work
+        QueuedExecutable queued;
+        while ((queued = _results.poll()) != null) {
+            queued.notifySubscribers();
+            _delivered.incrementAndGet();
+        }
+
+        DrainReport report = new DrainReport(pending,
+                (int)(_executed.get() - executedBefore), journaled,
+                unstarted.size() - journaled, inFlight,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        if (pending > 0)
+            Msg.info("[MySqlProvider] Statement executor drained: {0}", report);
+
+        return report;
+    }
+
+    private void addStatement(final QueuedExecutable statement) {
+
+        statement.agent.getFuture().onCancel(new FutureResultSubscriber<ISqlResult>() {
+            @Override
+            public void on(Result<ISqlResult> result) {
+                cancel(statement);
+            }
+        });
+
+        // cancelled before it was submitted
+        if (statement.cancelToken.isCancelled())
+            return;
+
+        if (!reserve(statement))
+            return;
+
+        statement.queuedTime = System.nanoTime();
+        statement.sequence = _sequence.incrementAndGet();
+
+        if (statement.orderingKey != null) {
+
+            synchronized (_lanes) {
+
+                Queue<QueuedExecutable> lane = _lanes.get(statement.orderingKey);
+                if (lane != null) {
+                    // wait for previous work in the lane to finish
+                    lane.add(statement);
+                    return;
+                }
+
+                _lanes.put(statement.orderingKey, new ArrayDeque<QueuedExecutable>(5));
+            }
+        }
+
+        // wakes an idle executor if one is waiting for work
+        _queue.add(statement);
+    }
+
+    private boolean reserve(QueuedExecutable statement) {
+
+        OverflowPolicy policy = _overflowPolicy;
+
+        if (_queue.tryReserve())
+            return true;
+
+        // executor threads submitting chained work must not wait on themselves
+        if (policy == OverflowPolicy.BLOCK && !(Thread.currentThread() instanceof MySqlExecutorAsync)) {
+
+            _blocked.incrementAndGet();
+
+            try {
+                if (_queue.reserve(TimeUnit.MILLISECONDS.toNanos(_blockTimeout)))
+                    return true;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        else if (policy == OverflowPolicy.JOURNAL) {
+
+            StatementJournal journal = _journal;
+
+            // replaying reads has no effect, they are rejected
+            if (journal != null && !statement.isQueryOnly()) {
+
+                // the submitting thread is usually the main thread, the file is
+                // written by the journal writer thread
+                statement.journalLater(journal);
+                _journaled.incrementAndGet();
+                statement.agent.error(null,
+                        "Statement queue is full ({0} pending). Statements written to journal '{1}'.",
+                        _queue.depth, journal.getFile().getPath());
+                return false;
+            }
+        }
+
+        _rejected.incrementAndGet();
+        statement.agent.error(null, "Statement queue is full ({0} pending).", _queue.depth);
+        return false;
+    }
+
+    /*
+     * Cancel work. Work that has not started is removed from the queue or its
+     * lane. Work that is running has its executing statement cancelled.
+     */
+    private void cancel(QueuedExecutable queued) {
+
+        if (queued.cancelToken.isCancelled())
+            return;
+
+        queued.cancelToken.cancel();
+        _cancelled.incrementAndGet();
+
+        if (_queue.remove(queued)) {
+            if (queued.orderingKey != null)
+                advanceLane(queued);
+            return;
+        }
+
+        if (queued.orderingKey == null)
+            return;
+
+        boolean isRemoved;
+
+        synchronized (_lanes) {
+            Queue<QueuedExecutable> lane = _lanes.get(queued.orderingKey);
+            isRemoved = lane != null && lane.remove(queued);
+        }
+
+        // lane work counts towards the queue depth
+        if (isRemoved)
+            _queue.release();
+    }
+
+    private void advanceLane(QueuedExecutable finished) {
+
+        QueuedExecutable next;
+
+        synchronized (_lanes) {
+
+            Queue<QueuedExecutable> lane = _lanes.get(finished.orderingKey);
+            if (lane == null)
+                return;
+
+            next = lane.poll();
+            if (next == null) {
+                _lanes.remove(finished.orderingKey);
+                return;
+            }
+        }
+
+        // queued behind work submitted before it and ahead of work submitted after it
+        _queue.add(next);
+    }
+
+    private class MySqlResultProducer implements Runnable {
+
+        @Override
+        public void run() {
+
+            if (_results.isEmpty())
+                return;
+
+            long start = System.nanoTime();
+            long budget = _deliveryBudget;
+            int delivered = 0;
+
+            QueuedExecutable queued;
+
+            while ((queued = _results.poll()) != null) {
+
+                queued.notifySubscribers();
+                delivered++;
+
+                if (System.nanoTime() - start >= budget) {
+
+                    if (!_results.isEmpty())
+                        _deferredTicks.incrementAndGet();
+
+                    break;
+                }
+            }
+
+            _delivered.addAndGet(delivered);
+        }
+    }
+
+    private void complete(final QueuedExecutable queued) {
+
+        try {
+            queued.completionExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        queued.notifySubscribers();
+                    }
+                    finally {
+                        _delivered.incrementAndGet();
+                    }
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            // fall back to main thread delivery
+            _results.add(queued);
+        }
+        catch (RuntimeException e) {
+            // subscriber error must not stop the executor thread
+            e.printStackTrace();
+        }
+    }
+
+    private class MySqlExecutorAsync extends Thread {
+
+        final boolean isInteractiveOnly;
+
+        MySqlExecutorAsync(boolean isInteractiveOnly) {
+            this.isInteractiveOnly = isInteractiveOnly;
+        }
+
+        @Override
+        public void run() {
+
+            while (true) {
+
+                QueuedExecutable queued;
+
+                try {
+                    // block until work is available
+                    queued = _queue.take(isInteractiveOnly);
+                } catch (InterruptedException e) {
+                    break;
+                }
+
+                // queue is shut down and empty
+                if (queued == null)
+                    break;
+
+                _waitStats[queued.priority.ordinal()].registerWait(
+                        System.nanoTime() - queued.queuedTime);
+
+                // cancelled after it was taken from the queue
+                if (queued.cancelToken.isCancelled()) {
+                    if (queued.orderingKey != null)
+                        advanceLane(queued);
+                    continue;
+                }
+
+                List<QueuedStatement> group = collectGroup(queued);
+                if (group != null) {
+                    executeGroup(group);
+                    continue;
+                }
+
+                executeOne(queued);
+                finish(queued);
+            }
+        }
+
+        /*
+         * Collect the queued work committed together with the specified work.
+         * Returns null if the work is not group committed.
+         */
+        @Nullable
+        private List<QueuedStatement> collectGroup(QueuedExecutable queued) {
+
+            int size = _groupCommitSize;
+            if (size < 2 || !QueuedStatement.isGroupable(queued))
+                return null;
+
+            QueuedStatement first = (QueuedStatement) queued;
+
+            List<QueuedStatement> group = new ArrayList<>(size);
+            group.add(first);
+
+            long deadline = System.nanoTime() + _groupCommitWindow;
+
+            while (group.size() < size) {
+
+                QueuedStatement next;
+                try {
+                    next = _queue.takeGroupable(first, deadline - System.nanoTime());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+                if (next == null)
+                    break;
+
+                _waitStats[next.priority.ordinal()].registerWait(
+                        System.nanoTime() - next.queuedTime);
+
+                group.add(next);
+            }
+
+            if (group.size() == 1) {
+                return null;
+            }
+
+            return group;
+        }
+
+        private void executeGroup(List<QueuedStatement> group) {
+
+            MySqlConnection connection = group.get(0).connection;
+            boolean isLeased = false;
+            boolean isCommitting = false;
+            boolean isCommitted = false;
+            Exception error = null;
+
+            try {
+                connection.lease();
+                isLeased = true;
+                try {
+                    connection.setAutoCommit(false);
+
+                    for (QueuedStatement queued : group) {
+
+                        // cancelled while the group was collected
+                        if (queued.cancelToken.isCancelled())
+                            continue;
+
+                        CancelToken.setCurrent(queued.cancelToken);
+                        try {
+                            queued.executeInTransaction();
+                        }
+                        finally {
+                            CancelToken.setCurrent(null);
+                        }
+                    }
+
+                    // leaving manual commit mode commits the transaction
+                    isCommitting = true;
+                    connection.setAutoCommit(true);
+                    isCommitted = true;
+                }
+                catch (SQLException e) {
+                    connection.onError(e);
+                    throw e;
+                }
+                finally {
+                    // rolls back if the commit did not happen
+                    connection.release();
+                }
+            }
+            catch (SQLException | RuntimeException e) {
+                e.printStackTrace();
+                error = e;
+            }
+
+            if (isCommitted) {
+                _groupCommits.incrementAndGet();
+
+                for (QueuedStatement queued : group) {
+                    queued.isSuccess = true;
+                    finish(queued);
+                }
+                return;
+            }
+
+            // The commit may have reached the server before it failed, and a connection
+            // error leaves the state of the transaction unknown. Running the lists again
+            // could apply their writes twice.
+            if (!isLeased || isCommitting ||
+                    (error instanceof SQLException &&
+                            ConnectionPool.isConnectionError((SQLException) error))) {
+
+                _groupFailures.incrementAndGet();
+
+                for (QueuedStatement queued : group) {
+                    queued.reset();
+                    queued.isSuccess = false;
+                    queued.errorMessage = "Group commit failed: " + error.getMessage();
+
+                    if (error instanceof SQLException)
+                        queued.error = (SQLException) error;
+
+                    finish(queued);
+                }
+                return;
+            }
 
-/**
- * Executes sql statements from asynchronous threads.
- */
-public class StatementExecutor implements IDisposable {
+            // a statement failed before the commit and the transaction was rolled back,
+            // run each on its own so each caller gets its own result
+            _groupFallbacks.incrementAndGet();
 
-    final Queue<QueuedExecutable> _results;
-    private final MySqlExecutorAsync[] _executors;
+            for (QueuedStatement queued : group) {
+                queued.reset();
 
-    private int _executorIndex;
-    private boolean _isDisposed;
+                if (!queued.cancelToken.isCancelled())
+                    executeOne(queued);
 
-    /**
-     * Constructor.
-     *
-     * @param totalExecutors  The total number of executors/threads.
+                finish(queued);
+            }
+        }
+
+        private void executeOne(QueuedExecutable queued) {
+
+            CancelToken.setCurrent(queued.cancelToken);
+            try {
+                executeLeased(queued);
+            }
+            catch (SQLException | RuntimeException e) {
+                e.printStackTrace();
+                queued.isSuccess = false;
+                queued.errorMessage = e.getMessage();
+            }
+            finally {
+                CancelToken.setCurrent(null);
+            }
+
+            if (queued.error != null && !queued.cancelToken.isCancelled() && isTimeout(queued.error))
+                _timeouts.incrementAndGet();
+        }
+
+        private void finish(QueuedExecutable queued) {
+
+            _executed.incrementAndGet();
+
+            if (queued.orderingKey != null)
+                advanceLane(queued);
+
+            // the future is already cancelled
+            if (queued.cancelToken.isCancelled())
+                return;
+
+            if (queued.completionExecutor == null) {
+                _results.add(queued);
+            }
+            else {
+                complete(queued);
+            }
+        }
+    }
+
+    /*
+     * Determine if an error was caused by a statement exceeding its query timeout.
+     * Connector/J reports timeouts with the SQL state S1T00, the server reports
+     * an interrupted query with 70100.
      */
-    public StatementExecutor(int totalExecutors) {
-        PreCon.positiveNumber(totalExecutors);
+    private static boolean isTimeout(SQLException e) {
 
-        _executors = new MySqlExecutorAsync[totalExecutors];
-        _results = new ArrayDeque<>(25 * totalExecutors);
+        if (e instanceof SQLTimeoutException)
+            return true;
 
-        for (int i=0; i < totalExecutors; i++) {
-            MySqlExecutorAsync executor = new MySqlExecutorAsync();
-            executor.setName("MySqlProvider Statement Executor #" + i);
+        String state = e.getSQLState();
+        return "S1T00".equals(state) || CancelToken.CANCELLED_STATE.equals(state);
+    }
+
+    /*
+     * Execute on a connection leased from the database pool for the duration
+     * of the unit of work. Query only work that failed because a connection
+     * was stale when leased is retried once on a new lease.
+     */
+    private static void executeLeased(QueuedExecutable queued) throws SQLException {
+
+        if (queued.connection == null) {
+            queued.execute();
+            return;
+        }
+
+        Replica replica = queued.selectReplica();
+        if (replica != null) {
+
+            if (executeOnReplica(queued, replica))
+                return;
+
+            // fall back to the primary
+            queued.reset();
+        }
+
+        for (int attempt = 0; ; attempt++) {
 
+            boolean isStale;
+
+            queued.connection.lease();
             try {
-                // offset thread execution
-                Thread.sleep(5);
-            } catch (InterruptedException ignore) {}
+                queued.execute();
+                isStale = queued.error != null && queued.connection.onError(queued.error);
+            }
+            finally {
+                queued.connection.release();
+            }
 
-            executor.start();
-            _executors[i] = executor;
+            if (!isStale || attempt > 0 || !queued.isQueryOnly() ||
+                    queued.cancelToken.isCancelled()) {
+                return;
+            }
+
+            queued.reset();
+        }
+    }
+
+    /*
+     * Execute query only work on a read replica. Returns false if the replica
+     * failed and the work should be executed on the primary instead.
+     */
+    private static boolean executeOnReplica(QueuedExecutable queued, Replica replica) {
+
+        try {
+            queued.connection.lease(replica.getPool());
+        }
+        catch (SQLException e) {
+            replica.onFailure();
+            return false;
+        }
+
+        boolean isFailed;
+
+        try {
+            queued.execute();
+
+            isFailed = queued.error != null && ConnectionPool.isConnectionError(queued.error);
+            if (queued.error != null)
+                queued.connection.onError(queued.error);
+        }
+        finally {
+            queued.connection.release();
+        }
+
+        if (isFailed) {
+            replica.onFailure();
+            return false;
         }
 
-        Scheduler.runTaskRepeat(Nucleus.getPlugin(), 1, 1, new MySqlResultProducer());
+        replica.onSuccess();
+        return true;
     }
 
     /**
-     * Execute a transaction.
-     *
-     * @param transaction  The transaction to execute.
-     * @param agent        The result agent.
+     * Report of work drained when the executor is disposed.
      */
-    public void execute(Transaction transaction, FutureResultAgent<ISqlResult> agent) {
-        PreCon.notNull(transaction);
-        PreCon.notNull(agent);
+    public static class DrainReport {
+
+        private final int _pending;
+        private final int _flushed;
+        private final int _journaled;
+        private final int _lost;
+        private final int _inFlight;
+        private final long _elapsed;
+
+        DrainReport(int pending, int flushed, int journaled, int lost, int inFlight, long elapsed) {
+            _pending = pending;
+            _flushed = flushed;
+            _journaled = journaled;
+            _lost = lost;
+            _inFlight = inFlight;
+            _elapsed = elapsed;
+        }
 
-        if (isDisposed())
-            throw new IllegalStateException("StatementExecutor has been disposed.");
+        /**
+         * Get the number of units of work pending when the drain started.
+         */
+        public int getPending() {
+            return _pending;
+        }
+
+        /**
+         * Get the number of units of work executed during the drain.
+         */
+        public int getFlushed() {
+            return _flushed;
+        }
+
+        /**
+         * Get the number of units of work that were not started before the
+         * timeout and were written to the journal.
+         */
+        public int getJournaled() {
+            return _journaled;
+        }
+
+        /**
+         * Get the number of units of work that were not started before the
+         * timeout and could not be journaled.
+         */
+        public int getLost() {
+            return _lost;
+        }
+
+        /**
+         * Get the number of executor threads still running work when the
+         * timeout elapsed. The results of that work are not delivered.
+         */
+        public int getInFlight() {
+            return _inFlight;
+        }
+
+        /**
+         * Get the time the drain took in milliseconds.
+         */
+        public long getElapsed() {
+            return _elapsed;
+        }
+
+        /**
+         * Determine if all pending work was executed.
+         */
+        public boolean isComplete() {
+            return _journaled == 0 && _lost == 0 && _inFlight == 0;
+        }
 
-        addStatement(new QueuedTransaction(transaction, agent));
+        @Override
+        public String toString() {
+            return "pending=" + _pending + ", flushed=" + _flushed + ", journaled=" + _journaled
+                    + ", lost=" + _lost + ", inFlight=" + _inFlight + ", elapsedMs=" + _elapsed;
+        }
     }
 
-    /**
-     * Execute a collection of finalized statements.
+    /*
+     * Bounded blocking queue of work separated by priority class.
      *
-     * @param statements  The statements to execute.
-     * @param agent       The result agent.
+     * Capacity is reserved before work is submitted and released when an
+     * executor takes the work so that work waiting in an ordering lane also
+     * counts towards the queue depth.
      */
-    public void execute(FinalizedStatements statements, FutureResultAgent<ISqlResult> agent) {
-        PreCon.notNull(statements);
-        PreCon.notNull(agent);
+    private static class PriorityQueues {
 
-        if (isDisposed())
-            throw new IllegalStateException("StatementExecutor has been disposed.");
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition notEmpty = lock.newCondition();
+        final Condition notFull = lock.newCondition();
+        final Deque<QueuedExecutable> interactive = new ArrayDeque<>(25);
+        final Deque<QueuedExecutable> bulk = new ArrayDeque<>(25);
+        int interactiveStreak;
+        boolean isShutdown;
 
-        addStatement(new QueuedStatement(statements, agent));
-    }
+        volatile int capacity = DEFAULT_CAPACITY;
+        volatile int depth;
+        volatile int highWaterMark;
 
-    @Override
-    public boolean isDisposed() {
-        return _isDisposed;
-    }
+        void setCapacity(int capacity) {
 
-    @Override
-    public void dispose() {
+            lock.lock();
+            try {
+                this.capacity = capacity;
+                notFull.signalAll();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        /*
+         * Remove work that has not been taken. Returns false if the work
+         * is not in the queue.
+         */
+        boolean remove(QueuedExecutable queued) {
+
+            Deque<QueuedExecutable> deque = queued.priority == StatementPriority.BULK
+                    ? bulk
+                    : interactive;
+
+            lock.lock();
+            try {
+                if (!deque.remove(queued))
+                    return false;
 
-        for (MySqlExecutorAsync _executor : _executors) {
-            _executor.interrupt();
+                releaseDepth();
+                return true;
+            }
+            finally {
+                lock.unlock();
+            }
         }
 
-        _isDisposed = true;
-    }
+        /*
+         * Release capacity reserved by work that was removed from an ordering lane.
+         */
+        void release() {
+            release(1);
+        }
+
+        /*
+         * Release capacity reserved by the specified amount of work removed
+         * from ordering lanes.
+         */
+        void release(int count) {
+
+            lock.lock();
+            try {
+                for (int i = 0; i < count; i++) {
+                    releaseDepth();
+                }
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        void resetHighWaterMark() {
 
-    private void addStatement(QueuedExecutable statement) {
+            lock.lock();
+            try {
+                highWaterMark = depth;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
 
-        MySqlExecutorAsync executor = _executors[_executorIndex];
+        void shutdown() {
 
-        synchronized (executor.queue) {
-            executor.queue.add(statement);
+            lock.lock();
+            try {
+                isShutdown = true;
+                notEmpty.signalAll();
+                notFull.signalAll();
+            }
+            finally {
+                lock.unlock();
+            }
         }
 
-        _executorIndex++;
+        List<QueuedExecutable> clear() {
 
-        if (_executorIndex >= _executors.length)
-            _executorIndex = 0;
-    }
+            lock.lock();
+            try {
+                List<QueuedExecutable> result = new ArrayList<>(interactive.size() + bulk.size());
+                result.addAll(interactive);
+                result.addAll(bulk);
 
-    private class MySqlResultProducer implements Runnable {
+                interactive.clear();
+                bulk.clear();
 
-        @Override
-        public void run() {
-            synchronized (_results) {
+                depth = Math.max(0, depth - result.size());
+                notFull.signalAll();
+
+                return result;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        boolean tryReserve() {
+
+            lock.lock();
+            try {
+
+                if (depth >= capacity)
+                    return false;
+
+                incrementDepth();
+                return true;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        boolean reserve(long timeoutNanos) throws InterruptedException {
+
+            lock.lockInterruptibly();
+            try {
+
+                while (depth >= capacity) {
 
-                while (!_results.isEmpty()) {
+                    if (timeoutNanos <= 0)
+                        return false;
 
-                    QueuedExecutable queued = _results.remove();
-                    queued.notifySubscribers();
+                    timeoutNanos = notFull.awaitNanos(timeoutNanos);
                 }
+
+                incrementDepth();
+                return true;
+            }
+            finally {
+                lock.unlock();
             }
         }
-    }
 
-    private class MySqlExecutorAsync extends Thread {
+        /*
+         * Add work in submission sequence order. New work goes to the tail. Work
+         * released from an ordering lane is placed behind the queued work that was
+         * submitted before it.
+         */
+        void add(QueuedExecutable queued) {
 
-        final Queue<QueuedExecutable> queue = new ArrayDeque<>(25);
-        final Queue<QueuedExecutable> resultBuffer = new ArrayDeque<>(25);
+            lock.lock();
+            try {
 
-        @Override
-        public void run() {
+                Deque<QueuedExecutable> deque = queued.priority == StatementPriority.BULK
+                        ? bulk
+                        : interactive;
 
-            while (true) {
+                QueuedExecutable last = deque.peekLast();
+
+                if (last == null || last.sequence < queued.sequence) {
+                    deque.addLast(queued);
+                }
+                else {
+                    // move later work aside to insert in sequence
+                    Deque<QueuedExecutable> later = new ArrayDeque<>(5);
+
+                    while (!deque.isEmpty() && deque.peekLast().sequence > queued.sequence) {
+                        later.addFirst(deque.removeLast());
+                    }
+
+                    deque.addLast(queued);
+                    deque.addAll(later);
+                }
+
+                // signal all, interactive only executors cannot take bulk work
+                notEmpty.signalAll();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
 
-                synchronized (queue) {
-                    while (!queue.isEmpty()) {
+        /*
+         * Returns null if the queue is shut down and there is no more work.
+         */
+        @Nullable
+        QueuedExecutable take(boolean isInteractiveOnly) throws InterruptedException {
 
-                        QueuedExecutable queued = queue.remove();
-                        queued.execute();
+            lock.lockInterruptibly();
+            try {
+
+                while (true) {
+
+                    // all executors help when draining
+                    QueuedExecutable next = poll(isInteractiveOnly && !isShutdown);
+                    if (next != null) {
+                        depth--;
+                        notFull.signal();
+
+                        if (isShutdown && depth == 0)
+                            notEmpty.signalAll();
 
-                        resultBuffer.add(queued);
+                        return next;
                     }
+
+                    // Exit once the queue is empty, regardless of the depth. Work waiting in an
+                    // ordering lane is queued by the executor that finishes the work before it,
+                    // before that executor takes again.
+                    if (isShutdown)
+                        return null;
+
+                    notEmpty.await();
                 }
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        private void releaseDepth() {
+            depth--;
+            notFull.signal();
+
+            if (isShutdown && depth == 0)
+                notEmpty.signalAll();
+        }
+
+        private void incrementDepth() {
+            depth++;
+
+            if (depth > highWaterMark)
+                highWaterMark = depth;
+        }
+
+        /*
+         * Take the next unit of work from the same lane as the specified work
+         * if it can be group committed with it. Waits up to the timeout if the
+         * lane is empty. Returns null if the next unit cannot be grouped, is
+         * cancelled or no work arrived in time.
+         */
+        @Nullable
+        QueuedStatement takeGroupable(QueuedStatement first, long timeoutNanos)
+                throws InterruptedException {
+
+            Deque<QueuedExecutable> deque = first.priority == StatementPriority.BULK
+                    ? bulk
+                    : interactive;
+
+            lock.lockInterruptibly();
+            try {
+
+                while (deque.isEmpty()) {
+                    if (isShutdown || timeoutNanos <= 0)
+                        return null;
 
-                synchronized (_results) {
-                    _results.addAll(resultBuffer);
-                    resultBuffer.clear();
+                    timeoutNanos = notEmpty.awaitNanos(timeoutNanos);
                 }
 
-                try {
-                    Thread.sleep(20);
-                } catch (InterruptedException e) {
-                    break;
+                QueuedExecutable next = deque.peekFirst();
+                if (!QueuedStatement.isGroupable(next) || next.connection != first.connection ||
+                        next.cancelToken.isCancelled()) {
+                    return null;
                 }
+
+                deque.removeFirst();
+                depth--;
+                notFull.signal();
+
+                return (QueuedStatement) next;
+            }
+            finally {
+                lock.unlock();
             }
         }
+
+        private QueuedExecutable poll(boolean isInteractiveOnly) {
+
+            if (!isInteractiveOnly && !bulk.isEmpty() &&
+                    (interactive.isEmpty() || interactiveStreak >= BULK_SHARE_INTERVAL)) {
+
+                interactiveStreak = 0;
+                return bulk.removeFirst();
+            }
+
+            QueuedExecutable next = interactive.pollFirst();
+            if (next != null && !bulk.isEmpty())
+                interactiveStreak++;
+
+            return next;
+        }
     }
 
     private static class QueuedTransaction extends QueuedExecutable {
@@ -171,8 +1565,10 @@ public class StatementExecutor implements IDisposable {
         final Transaction transaction;
         final List<ExecuteResult> statementResults;
 
-        QueuedTransaction(Transaction transaction, FutureResultAgent<ISqlResult> agent) {
-            super(agent);
+        QueuedTransaction(Transaction transaction, FutureResultAgent<ISqlResult> agent,
+                          @Nullable Object orderingKey) {
+            super(agent, orderingKey, transaction.getPriority(),
+                    transaction.getCompletionExecutor(), transaction.getDatabase());
             this.transaction = transaction;
             this.statementResults = new ArrayList<>(transaction.size());
             this.result = new ExecuteResult(transaction.size() * 2, agent);
@@ -187,8 +1583,8 @@ public class StatementExecutor implements IDisposable {
 
                 connection.setAutoCommit(false);
 
-                for (FinalizedStatements statements : transaction) {
-                    ExecuteResult statementResult = statements.executeNow(1);
+                // executed as one sequence so update batches can span statement lists
+                for (ExecuteResult statementResult : FinalizedStatements.executeNow(transaction, 1)) {
                     result.addResults(statementResult);
                     statementResults.add(statementResult);
                 }
@@ -197,12 +1593,19 @@ public class StatementExecutor implements IDisposable {
             catch (SQLException e) {
                 e.printStackTrace();
                 isSuccess = false;
+                error = e;
                 errorMessage = e.getMessage();
             }
 
             try {
-                connection.commit();
-                connection.setAutoCommit(true);
+                if (isSuccess) {
+                    // leaving manual commit mode commits the transaction
+                    connection.setAutoCommit(true);
+                }
+                else if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
             }
             catch (SQLException e) {
                 e.printStackTrace();
@@ -216,7 +1619,12 @@ public class StatementExecutor implements IDisposable {
                     PreparedStatement statement = connection.prepareStatement(
                             "DROP TEMPORARY TABLE IF EXISTS `" + table.getName() + '`');
 
-                    statement.execute();
+                    try {
+                        statement.execute();
+                    }
+                    finally {
+                        statement.close();
+                    }
                     table.setRemoved();
                 }
             }
@@ -225,6 +1633,32 @@ public class StatementExecutor implements IDisposable {
             }
         }
 
+        @Override
+        boolean isQueryOnly() {
+            for (FinalizedStatements statements : transaction) {
+                if (!statements.isQueryOnly())
+                    return false;
+            }
+            return true;
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            statementResults.clear();
+            result = new ExecuteResult(transaction.size() * 2, agent);
+        }
+
+        @Override
+        void journal(StatementJournal journal) throws IOException {
+            journal.write(transaction.getDatabase(), transaction, true);
+        }
+
+        @Override
+        void journalLater(StatementJournal journal) {
+            journal.writeLater(transaction.getDatabase(), transaction, true);
+        }
+
         @Override
         void notifySubscribers() {
             if (isSuccess) {
@@ -246,8 +1680,10 @@ public class StatementExecutor implements IDisposable {
 
         final FinalizedStatements statements;
 
-        QueuedStatement(FinalizedStatements statements, FutureResultAgent<ISqlResult> agent) {
-            super(agent);
+        QueuedStatement(FinalizedStatements statements, FutureResultAgent<ISqlResult> agent,
+                        @Nullable Object orderingKey) {
+            super(agent, orderingKey, statements.getPriority(),
+                    statements.getCompletionExecutor(), statements.getDatabase());
             this.statements = statements;
         }
 
@@ -261,10 +1697,66 @@ public class StatementExecutor implements IDisposable {
             } catch (SQLException e) {
                 e.printStackTrace();
                 isSuccess = false;
+                error = e;
                 errorMessage = e.getMessage();
             }
         }
 
+        @Override
+        boolean isQueryOnly() {
+            return statements.isQueryOnly();
+        }
+
+        /*
+         * Determine if the work can be committed in a group with other work.
+         * Statements that control their own transaction are not grouped, their
+         * commit would end the group transaction early.
+         */
+        static boolean isGroupable(QueuedExecutable queued) {
+
+            if (!(queued instanceof QueuedStatement))
+                return false;
+
+            FinalizedStatements statements = ((QueuedStatement) queued).statements;
+
+            return queued.connection != null &&
+                    !statements.isQueryOnly() &&
+                    !statements.hasTransactionControl();
+        }
+
+        /*
+         * Execute as part of a group transaction on the current threads lease.
+         */
+        void executeInTransaction() throws SQLException {
+            result = statements.executeNow(1);
+        }
+
+        @Nullable
+        @Override
+        Replica selectReplica() {
+
+            if (database == null || statements.isPrimaryRequired())
+                return null;
+
+            ReplicaSet replicas = database.getReplicas();
+            if (replicas == null || !statements.isQueryOnly())
+                return null;
+
+            return replicas.select();
+        }
+
+        @Override
+        void journal(StatementJournal journal) throws IOException {
+            journal.write(statements.getDatabase(),
+                    Collections.singletonList(statements), false);
+        }
+
+        @Override
+        void journalLater(StatementJournal journal) {
+            journal.writeLater(statements.getDatabase(),
+                    Collections.singletonList(statements), false);
+        }
+
         @Override
         void notifySubscribers() {
             if (isSuccess) {
@@ -279,16 +1771,66 @@ public class StatementExecutor implements IDisposable {
     private static abstract class QueuedExecutable {
 
         final FutureResultAgent<ISqlResult> agent;
+        final Object orderingKey;
+        final StatementPriority priority;
+        final Executor completionExecutor;
+        final Database database;
+        final MySqlConnection connection;
+        final CancelToken cancelToken = new CancelToken();
+        long queuedTime;
+        long sequence;
         ExecuteResult result;
+        SQLException error;
         String errorMessage;
         boolean isSuccess;
 
-        QueuedExecutable(FutureResultAgent<ISqlResult> agent) {
+        QueuedExecutable(FutureResultAgent<ISqlResult> agent, @Nullable Object orderingKey,
+                         StatementPriority priority, @Nullable Executor completionExecutor,
+                         ISqlDatabase database) {
             this.agent = agent;
+            this.orderingKey = orderingKey;
+            this.priority = priority;
+
+            if (database instanceof Database) {
+                this.completionExecutor = completionExecutor != null
+                        ? completionExecutor
+                        : ((Database) database).getCompletionExecutor();
+                this.database = (Database) database;
+                this.connection = this.database.getConnection();
+            }
+            else {
+                this.completionExecutor = completionExecutor;
+                this.database = null;
+                this.connection = null;
+            }
         }
 
         abstract void execute();
 
+        abstract boolean isQueryOnly();
+
+        /*
+         * Select the read replica to execute on. Null to use the primary.
+         */
+        @Nullable
+        Replica selectReplica() {
+            return null;
+        }
+
+        void reset() {
+            result = null;
+            error = null;
+            errorMessage = null;
+            isSuccess = false;
+        }
+
+        abstract void journal(StatementJournal journal) throws IOException;
+
+        /*
+         * Write to the journal on the journal writer thread.
+         */
+        abstract void journalLater(StatementJournal journal);
+
         abstract void notifySubscribers();
     }
 }
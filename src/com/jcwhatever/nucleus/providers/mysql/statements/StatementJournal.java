@@ -0,0 +1,335 @@
+package com.jcwhatever.nucleus.providers.mysql.statements;
+
+import com.jcwhatever.nucleus.providers.mysql.Msg;
+import com.jcwhatever.nucleus.providers.sql.ISqlDatabase;
+import com.jcwhatever.nucleus.utils.PreCon;
+
+import javax.annotation.Nullable;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Append only file of sql statements that could not be executed.
+ *
+ * <p>Statement values are written inline as literals so the journal can be
+ * replayed with the mysql command line client.</p>
+ *
+ * <p>Writes started with {@link #writeLater} are performed in order on a shared
+ * background writer thread so that callers, such as the main thread, do not
+ * wait on file I/O.</p>
+ */
+public class StatementJournal {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(
+            new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "MySqlProvider Journal Writer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    private final File _file;
+    private final Object _writeLock = new Object();
+    private Future<?> _lastWrite;
+
+    /**
+     * Constructor.
+     *
+     * @param file  The journal file.
+     */
+    public StatementJournal(File file) {
+        PreCon.notNull(file);
+
+        _file = file;
+    }
+
+    /**
+     * Get the journal file.
+     */
+    public File getFile() {
+        return _file;
+    }
+
+    /**
+     * Append statements to the journal.
+     *
+     * @param database       The database the statements are for.
+     * @param units          The units of work to write.
+     * @param isTransaction  True to write the units inside a single transaction.
+     *
+     * @throws IOException
+     */
+    public synchronized void write(ISqlDatabase database,
+                                   Collection<FinalizedStatements> units,
+                                   boolean isTransaction) throws IOException {
+        PreCon.notNull(database);
+        PreCon.notNull(units);
+
+        File folder = _file.getParentFile();
+        if (folder != null && !folder.exists() && !folder.mkdirs())
+            throw new IOException("Failed to create journal folder: " + folder);
+
+        StringBuilder sb = new StringBuilder(250);
+
+        sb.append("-- ")
+                .append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()))
+                .append('\n');
+
+        sb.append("USE `").append(database.getName()).append("`;\n");
+
+        if (isTransaction)
+            sb.append("START TRANSACTION;\n");
+
+        for (FinalizedStatements statements : units) {
+            for (FinalizedStatement statement : statements) {
+                appendStatement(sb, statement);
+            }
+        }
+
+        if (isTransaction)
+            sb.append("COMMIT;\n");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(_file, true), StandardCharsets.UTF_8));
+
+        try {
+            writer.write(sb.toString());
+        }
+        finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Append statements to the journal on the background writer thread.
+     *
+     * <p>Write errors are logged. Use {@link #flush} to wait for the write.</p>
+     *
+     * @param database       The database the statements are for.
+     * @param units          The units of work to write.
+     * @param isTransaction  True to write the units inside a single transaction.
+     */
+    public void writeLater(final ISqlDatabase database,
+                           Collection<FinalizedStatements> units,
+                           final boolean isTransaction) {
+        PreCon.notNull(database);
+        PreCon.notNull(units);
+
+        final List<FinalizedStatements> copy = new ArrayList<>(units);
+
+        synchronized (_writeLock) {
+            _lastWrite = WRITER.submit(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        write(database, copy, isTransaction);
+                    }
+                    catch (IOException e) {
+                        e.printStackTrace();
+                        Msg.severe("Failed to write statements to journal: {0}", e.getMessage());
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Wait for the writes started with {@link #writeLater} to finish.
+     *
+     * @param timeout  The max time to wait in milliseconds.
+     *
+     * @return  True if all writes finished, false if the timeout elapsed first.
+     */
+    public boolean flush(long timeout) {
+
+        Future<?> lastWrite;
+        synchronized (_writeLock) {
+            lastWrite = _lastWrite;
+        }
+
+        if (lastWrite == null)
+            return true;
+
+        try {
+            // writes are performed in order, the last write finishes last
+            lastWrite.get(timeout, TimeUnit.MILLISECONDS);
+            return true;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        catch (ExecutionException e) {
+            return true;
+        }
+        catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    private void appendStatement(StringBuilder sb, FinalizedStatement statement) {
+
+        switch (statement.getType()) {
+            case TRANSACTION_START:
+                sb.append("START TRANSACTION;\n");
+                return;
+            case TRANSACTION_COMMIT:
+                sb.append("COMMIT;\n");
+                return;
+            default:
+                break;
+        }
+
+        String sql = statement.getStatement();
+        Object[] values = statement.getValues();
+        int valueIndex = 0;
+        char quote = 0;
+
+        for (int i=0; i < sql.length(); i++) {
+
+            char ch = sql.charAt(i);
+
+            if (quote != 0) {
+                if (ch == quote)
+                    quote = 0;
+            }
+            else if (ch == '\'' || ch == '"' || ch == '`') {
+                quote = ch;
+            }
+            else if (ch == '?' && valueIndex < values.length) {
+                appendLiteral(sb, values[valueIndex]);
+                valueIndex++;
+                continue;
+            }
+
+            sb.append(ch);
+        }
+
+        // remove trailing statement terminator, if any, so it is not doubled
+        int end = sb.length() - 1;
+        while (end >= 0 && Character.isWhitespace(sb.charAt(end)))
+            end--;
+
+        sb.setLength(end + 1);
+
+        if (end < 0 || sb.charAt(end) != ';')
+            sb.append(';');
+
+        sb.append('\n');
+    }
+
+    private void appendLiteral(StringBuilder sb, @Nullable Object value) {
+
+        if (value == null) {
+            sb.append("NULL");
+        }
+        else if (value instanceof Boolean) {
+            sb.append((Boolean) value ? '1' : '0');
+        }
+        else if (value instanceof BigDecimal) {
+            sb.append(((BigDecimal) value).toPlainString());
+        }
+        else if (value instanceof Number) {
+            sb.append(value);
+        }
+        else if (value instanceof byte[]) {
+            appendHex(sb, (byte[]) value);
+        }
+        else if (value instanceof UUID) {
+
+            UUID uuid = (UUID) value;
+            byte[] bytes = new byte[16];
+            long most = uuid.getMostSignificantBits();
+            long least = uuid.getLeastSignificantBits();
+
+            for (int i=0; i < 8; i++) {
+                bytes[i] = (byte) (most >>> (56 - i * 8));
+                bytes[i + 8] = (byte) (least >>> (56 - i * 8));
+            }
+
+            appendHex(sb, bytes);
+        }
+        else if (value instanceof Date) {
+            sb.append('\'')
+                    .append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format((Date) value))
+                    .append('\'');
+        }
+        else {
+            appendString(sb, value.toString());
+        }
+    }
+
+    private void appendHex(StringBuilder sb, byte[] bytes) {
+
+        if (bytes.length == 0) {
+            sb.append("''");
+            return;
+        }
+
+        sb.append("X'");
+
+        for (byte b : bytes) {
+            sb.append(HEX[(b >> 4) & 0xF])
+                    .append(HEX[b & 0xF]);
+        }
+
+        sb.append('\'');
+    }
+
+    private void appendString(StringBuilder sb, String value) {
+
+        sb.append('\'');
+
+        for (int i=0; i < value.length(); i++) {
+
+            char ch = value.charAt(i);
+
+            switch (ch) {
+                case '\0':
+                    sb.append("\\0");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\u001A':
+                    sb.append("\\Z");
+                    break;
+                case '\\':
+                case '\'':
+                case '"':
+                    sb.append('\\').append(ch);
+                    break;
+                default:
+                    sb.append(ch);
+            }
+        }
+
+        sb.append('\'');
+    }
+}
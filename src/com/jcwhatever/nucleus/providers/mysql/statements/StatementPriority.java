@@ -0,0 +1,18 @@
+package com.jcwhatever.nucleus.providers.mysql.statements;
+
+/**
+ * Priority classes of work submitted to the {@link StatementExecutor}.
+ */
+public enum StatementPriority {
+    /**
+     * Latency sensitive work such as loading data for a player
+     * that is waiting on it. Never queued behind {@link #BULK} work.
+     */
+    INTERACTIVE,
+    /**
+     * Background work such as auto saves. Runs when no interactive work
+     * is pending but is guaranteed a share of executor time so it is never
+     * starved.
+     */
+    BULK
+}
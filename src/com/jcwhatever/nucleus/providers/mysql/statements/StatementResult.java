@@ -1,10 +1,13 @@
 package com.jcwhatever.nucleus.providers.mysql.statements;
 
+import com.jcwhatever.nucleus.providers.mysql.compound.CompoundDataManager;
+import com.jcwhatever.nucleus.providers.mysql.compound.ICompoundDataHandler;
 import com.jcwhatever.nucleus.providers.mysql.compound.ItemStackHandler;
 import com.jcwhatever.nucleus.providers.mysql.compound.LocationHandler;
 import com.jcwhatever.nucleus.providers.mysql.compound.VectorHandler;
 import com.jcwhatever.nucleus.providers.mysql.table.Table;
 import com.jcwhatever.nucleus.providers.sql.ISqlQueryResult;
+import com.jcwhatever.nucleus.providers.sql.ISqlTableDefinition.ISqlTableColumn;
 import com.jcwhatever.nucleus.utils.PreCon;
 import com.jcwhatever.nucleus.utils.coords.SyncLocation;
 import com.jcwhatever.nucleus.utils.text.TextUtils;
@@ -31,7 +34,10 @@ import java.sql.SQLXML;
 import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -45,21 +51,28 @@ public class StatementResult implements ISqlQueryResult {
     private final ResultSet _result;
     private final String[] _columns;
     private boolean _hasCalledNext;
+    private boolean _isClosed;
 
     /**
      * Constructor.
      *
+     * <p>The rows of the result set are copied so that the result can be read after
+     * the statement that produced it is closed or returned to the statement cache.
+     * The result set is read to the end but not closed.</p>
+     *
      * @param statement  The finalized statement the result is for.
      * @param result     The result set.
+     *
+     * @throws SQLException
      */
-    public StatementResult(FinalizedStatement statement, ResultSet result) {
+    public StatementResult(FinalizedStatement statement, ResultSet result) throws SQLException {
         PreCon.notNull(statement);
         PreCon.notNull(result);
 
         _statement = statement;
         _table = statement.getTable();
         _columns = statement.getColumns();
-        _result = result;
+        _result = new BufferedResultSet(result, getCompoundNames(_table, result.getMetaData()));
     }
 
     /**
@@ -189,6 +202,11 @@ public class StatementResult implements ISqlQueryResult {
 
     @Override
     public void close() throws SQLException {
+
+        if (_isClosed)
+            return;
+
+        _isClosed = true;
         _result.close();
     }
 
@@ -1412,6 +1430,38 @@ public class StatementResult implements ISqlQueryResult {
         return _result.isWrapperFor(iface);
     }
 
+    /*
+     * Get the column names qualified with the table alias of a compound data
+     * type join. The aliases are not part of the result set meta data, so the
+     * names are resolved before the rows are copied.
+     */
+    private static List<String> getCompoundNames(@Nullable Table table, ResultSetMetaData metaData)
+            throws SQLException {
+
+        if (table == null || !table.getDefinition().hasCompoundDataTypes())
+            return Collections.emptyList();
+
+        CompoundDataManager manager = table.getDatabase().getCompoundManager();
+        List<String> names = new ArrayList<>(10);
+
+        for (ISqlTableColumn column : table.getDefinition().getCompoundColumns()) {
+
+            ICompoundDataHandler handler = manager.getHandler(column.getDataType());
+            if (handler == null)
+                continue;
+
+            String handlerTable = handler.getTable().getName();
+            String alias = handlerTable + '_' + column.getName() + '.';
+
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                if (handlerTable.equalsIgnoreCase(metaData.getTableName(i)))
+                    names.add(alias + metaData.getColumnLabel(i));
+            }
+        }
+
+        return names;
+    }
+
     private String getName(String columnName) {
         if (_statement.isPrefixed() && columnName.indexOf('.') == -1)
             return _table.getName() + '.' + columnName;
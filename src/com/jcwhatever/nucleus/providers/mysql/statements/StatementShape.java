@@ -0,0 +1,61 @@
+package com.jcwhatever.nucleus.providers.mysql.statements;
+
+/**
+ * Statement shape ids used to track statement buffer sizes.
+ *
+ * <p>A shape is the builder that created a statement combined with the clause
+ * flags of the path taken through the builder. Statement sizes are tracked
+ * separately for each table and shape so that small and large statements of
+ * the same builder do not share a buffer size.</p>
+ */
+public final class StatementShape {
+
+    private StatementShape() {}
+
+    private static final int CLAUSE_BITS = 3;
+
+    /**
+     * Statement created by {@link Select}.
+     */
+    public static final int SELECT = 0;
+
+    /**
+     * Statement created by {@link Insert}.
+     */
+    public static final int INSERT = 1 << CLAUSE_BITS;
+
+    /**
+     * Statement created by {@link InsertInto}.
+     */
+    public static final int INSERT_INTO = 2 << CLAUSE_BITS;
+
+    /**
+     * Statement created by {@link Update}.
+     */
+    public static final int UPDATE = 3 << CLAUSE_BITS;
+
+    /**
+     * Statement created by {@link Delete}.
+     */
+    public static final int DELETE = 4 << CLAUSE_BITS;
+
+    /**
+     * Clause flag for statements with a where clause.
+     */
+    public static final int WHERE = 1;
+
+    /**
+     * Clause flag for statements with joins.
+     */
+    public static final int JOIN = 1 << 1;
+
+    /**
+     * Clause flag for statements with multiple value rows.
+     */
+    public static final int ROWS = 1 << 2;
+
+    /**
+     * The total number of shape ids.
+     */
+    public static final int TOTAL = 5 << CLAUSE_BITS;
+}
@@ -1,24 +1,30 @@
 package com.jcwhatever.nucleus.providers.mysql.statements;
 
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Used to track statement sizes and return a buffer size
  * optimized for the most recent statement sizes.
+ *
+ * <p>Samples are collected in windows of the max sample count. The thread that
+ * registers the last sample of a window updates the recommended size. The tracker
+ * does not lock; samples registered concurrently with the end of a window may be
+ * counted in the next window.</p>
+ *
+ * <p>Trackers are kept per table and statement shape. See {@link StatementShape}.</p>
  */
 public class StatementSizeTracker {
 
-    private final int[] _samples;
     private final int _maxSamples;
 
+    private final AtomicInteger _sampleCount = new AtomicInteger();
+    private final AtomicLong _sampleTotal = new AtomicLong();
+    private final AtomicInteger _largest = new AtomicInteger();
+
     private volatile int _size;
-    private volatile int _sampleCount;
-    private volatile int _largest;
     private volatile int _lifetimeAverage;
 
-    private final ReadWriteLock _lock = new ReentrantReadWriteLock();
-
     /**
      * Constructor.
      *
@@ -28,21 +34,13 @@ public class StatementSizeTracker {
     public StatementSizeTracker(int initialSize, int maxSamples) {
         _size = initialSize;
         _maxSamples = maxSamples;
-
-        _samples = new int[maxSamples];
     }
 
     /**
      * Get the recommended statement buffer size.
      */
     public int getSize() {
-        _lock.readLock().lock();
-        try {
-            return _size;
-        }
-        finally {
-            _lock.readLock().unlock();
-        }
+        return _size;
     }
 
     /**
@@ -52,33 +50,25 @@ public class StatementSizeTracker {
      */
     public void registerSize(int size) {
 
-        _lock.writeLock().lock();
-        try {
-
-            if (_largest < size)
-                _largest = size;
-
-            _samples[_sampleCount] = size;
+        int largest;
+        do {
+            largest = _largest.get();
+        } while (largest < size && !_largest.compareAndSet(largest, size));
 
-            _sampleCount++;
+        _sampleTotal.addAndGet(size);
 
-            if (_sampleCount < _maxSamples)
-                return;
+        if (_sampleCount.incrementAndGet() != _maxSamples)
+            return;
 
-            int average = _lifetimeAverage;
+        // end of window, samples registered from here on count towards the next window
+        _sampleCount.addAndGet(-_maxSamples);
 
-            for (int i : _samples) {
-                average += i;
-            }
+        long total = _sampleTotal.getAndSet(0);
+        largest = _largest.getAndSet(0);
 
-            _lifetimeAverage = average / (_samples.length + 1);
+        int average = (int) ((_lifetimeAverage + total) / (_maxSamples + 1));
 
-            _size = Math.max(_lifetimeAverage, _largest);
-            _sampleCount = 0;
-            _largest = 0;
-        }
-        finally {
-            _lock.writeLock().unlock();
-        }
+        _lifetimeAverage = average;
+        _size = Math.max(average, largest);
     }
 }
@@ -0,0 +1,253 @@
+package com.jcwhatever.nucleus.providers.mysql.statements;
+
+import com.jcwhatever.nucleus.providers.mysql.MySqlProvider;
+import com.jcwhatever.nucleus.providers.mysql.table.Table;
+import com.jcwhatever.nucleus.providers.sql.ISqlDatabase;
+import com.jcwhatever.nucleus.providers.sql.ISqlResult;
+import com.jcwhatever.nucleus.providers.sql.statement.ISqlStatement;
+import com.jcwhatever.nucleus.providers.sql.statement.ISqlTransaction;
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.observer.future.IFutureResult;
+
+/**
+ * A statement compiled once from a builder chain and executed many times
+ * with new parameter values.
+ *
+ * <p>Build the statement with the fluent builders using {@link #PARAM} in place
+ * of each value that changes between executions, then compile the result of
+ * {@code getStatement()}. The SQL is generated once and every execution reuses
+ * the same SQL string, so statement cache lookups stay cheap.</p>
+ *
+ * <pre>
+ *     StatementTemplate template = StatementTemplate.compile(
+ *          table.selectRows().where("id").isEqualTo(StatementTemplate.PARAM).getStatement());
+ *
+ *     template.execute(playerId);
+ * </pre>
+ *
+ * <p>Parameter values are bound in the order the {@link #PARAM} slots appear in the
+ * statement. Columns with compound data types cannot be used as slots.</p>
+ *
+ * <p>The parameter binders are resolved once when the template is compiled, from the
+ * column data types of an insert statement or from the class of each fixed value.</p>
+ *
+ * <p>Templates are immutable and can be shared between threads.</p>
+ */
+public final class StatementTemplate {
+
+    /**
+     * Placeholder for a value that is provided when the template is executed.
+     */
+    public static final Object PARAM = new Object() {
+        @Override
+        public String toString() {
+            return "?";
+        }
+    };
+
+    private final Table _table;
+    private final ISqlDatabase _database;
+    private final String _sql;
+    private final Object[] _values;
+    private final int[] _slots;
+    private final ParameterBinder[] _binders;
+    private final String[] _columns;
+    private final StatementType _type;
+    private final boolean _isPrefixed;
+    private final StatementPriority _priority;
+    private final int _queryTimeout;
+
+    /**
+     * Compile a statement into a template.
+     *
+     * @param statement  The statement returned by a builders {@code getStatement} method.
+     */
+    public static StatementTemplate compile(ISqlStatement statement) {
+        return compile(statement, StatementPriority.INTERACTIVE, -1);
+    }
+
+    /**
+     * Compile a statement into a template.
+     *
+     * @param statement     The statement returned by a builders {@code getStatement} method.
+     * @param priority      The priority class the template is executed with.
+     * @param queryTimeout  The query timeout in seconds. 0 for no timeout, -1 to use
+     *                      the database default.
+     */
+    public static StatementTemplate compile(ISqlStatement statement,
+                                            StatementPriority priority, int queryTimeout) {
+        PreCon.isValid(statement instanceof FinalizedStatement, "Invalid implementation.");
+        PreCon.notNull(priority);
+        PreCon.isValid(queryTimeout >= -1, "Timeout must be -1 or greater.");
+
+        return new StatementTemplate((FinalizedStatement) statement, priority, queryTimeout);
+    }
+
+    /**
+     * Private constructor.
+     */
+    private StatementTemplate(FinalizedStatement statement,
+                              StatementPriority priority, int queryTimeout) {
+
+        PreCon.isValid(statement.getType() == StatementType.QUERY ||
+                statement.getType() == StatementType.UPDATE, "Statement cannot be compiled.");
+
+        Table table = statement.getTable();
+        if (table == null)
+            throw new IllegalArgumentException("Statement is not for a table.");
+
+        Object[] values = statement.getValues().clone();
+
+        int slotCount = 0;
+        for (Object value : values) {
+            if (value == PARAM)
+                slotCount++;
+        }
+
+        int[] slots = new int[slotCount];
+        int slot = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == PARAM) {
+                slots[slot++] = i;
+                values[i] = null;
+            }
+        }
+
+        _table = table;
+        _database = table.getDatabase();
+        _sql = statement.getStatement();
+        _values = values;
+        _slots = slots;
+        _binders = resolveBinders(statement, values);
+        _columns = statement.getColumns();
+        _type = statement.getType();
+        _isPrefixed = statement.isPrefixed();
+        _priority = priority;
+        _queryTimeout = queryTimeout;
+    }
+
+    /**
+     * Get the table the template is for.
+     */
+    public Table getTable() {
+        return _table;
+    }
+
+    /**
+     * Get the compiled sql statement string.
+     */
+    public String getStatement() {
+        return _sql;
+    }
+
+    /**
+     * Get the number of parameter slots.
+     */
+    public int getParameterCount() {
+        return _slots.length;
+    }
+
+    /**
+     * Get the priority class the template is executed with.
+     */
+    public StatementPriority getPriority() {
+        return _priority;
+    }
+
+    /**
+     * Get the query timeout in seconds the template is executed with.
+     *
+     * @return  The timeout. 0 for no timeout, -1 to use the database default.
+     */
+    public int getQueryTimeout() {
+        return _queryTimeout;
+    }
+
+    /**
+     * Create a finalized statement with the specified parameter values.
+     *
+     * @param values  The values of the parameter slots, in slot order.
+     */
+    public FinalizedStatement bind(Object... values) {
+        PreCon.notNull(values);
+
+        if (values.length != _slots.length) {
+            throw new IllegalArgumentException("Expected " + _slots.length +
+                    " parameter values, got " + values.length + '.');
+        }
+
+        Object[] bound = _values.clone();
+
+        for (int i = 0; i < _slots.length; i++) {
+            bound[_slots[i]] = values[i];
+        }
+
+        return new FinalizedStatement(_table, _sql, bound, _columns, _type, _isPrefixed, _binders);
+    }
+
+    /**
+     * Execute the template with the specified parameter values.
+     *
+     * @param values  The values of the parameter slots, in slot order.
+     */
+    public IFutureResult<ISqlResult> execute(Object... values) {
+
+        if (_table.getDefinition().isTemp()) {
+            throw new IllegalStateException(
+                    "Cannot execute statement on a temporary table outside of a transaction.");
+        }
+
+        FinalizedStatements statements = new FinalizedStatements(_database, 1);
+        statements.add(bind(values));
+        statements.setPriority(_priority);
+        statements.setQueryTimeout(_queryTimeout);
+
+        return MySqlProvider.getProvider().execute(statements);
+    }
+
+    /**
+     * Add the template to a transaction with the specified parameter values.
+     *
+     * @param transaction  The transaction.
+     * @param values       The values of the parameter slots, in slot order.
+     */
+    public IFutureResult<ISqlResult> addToTransaction(ISqlTransaction transaction, Object... values) {
+        PreCon.notNull(transaction);
+
+        FinalizedStatements statements = new FinalizedStatements(_database, 1);
+        statements.add(bind(values));
+        statements.setQueryTimeout(_queryTimeout);
+
+        return transaction.append(statements);
+    }
+
+    /*
+     * Resolve the binder of each value. Insert values reuse the binder the insert
+     * builder resolved from the data type of their column. Other slots use the binder
+     * of the value class, or the generic binder, which resolves a binder from the class
+     * of each bound value.
+     */
+    private static ParameterBinder[] resolveBinders(FinalizedStatement statement, Object[] values) {
+
+        ParameterBinder[] binders = new ParameterBinder[values.length];
+        ParameterBinder[] columnBinders = statement.getBinders();
+
+        for (int i = 0; i < values.length; i++) {
+
+            ParameterBinder binder = columnBinders != null
+                    ? columnBinders[i]
+                    : null;
+
+            binders[i] = binder != null
+                    ? binder
+                    : ParameterBinder.forValue(values[i]);
+        }
+
+        return binders;
+    }
+
+    @Override
+    public String toString() {
+        return _sql;
+    }
+}
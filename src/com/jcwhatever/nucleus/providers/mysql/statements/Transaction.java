@@ -15,9 +15,11 @@ import com.jcwhatever.nucleus.utils.PreCon;
 import com.jcwhatever.nucleus.utils.observer.future.FutureResultAgent;
 import com.jcwhatever.nucleus.utils.observer.future.IFutureResult;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Implementation of {@link ISqlTransaction}.
@@ -30,6 +32,9 @@ public class Transaction extends ArrayList<FinalizedStatements> implements ISqlT
     private final Database _database;
     private final FutureResultAgent<ISqlResult> _agent = new FutureResultAgent<>();
     private List<Table> _tempTables;
+    private Object _orderingKey;
+    private StatementPriority _priority = StatementPriority.INTERACTIVE;
+    private Executor _completionExecutor;
 
     /**
      * Constructor.
@@ -113,6 +118,78 @@ public class Transaction extends ArrayList<FinalizedStatements> implements ISqlT
         return _agent.getFuture();
     }
 
+    /**
+     * Get the ordering key the transaction is executed with.
+     *
+     * @return  The key or null if not set.
+     */
+    @Nullable
+    public Object getOrderingKey() {
+        return _orderingKey;
+    }
+
+    /**
+     * Set the ordering key the transaction is executed with.
+     *
+     * <p>Work submitted with equal ordering keys is executed one at a time
+     * in submission order. See {@link OrderingKey}.</p>
+     *
+     * @param key  The key. Null to remove.
+     *
+     * @return  Self for chaining.
+     */
+    public Transaction setOrderingKey(@Nullable Object key) {
+        _orderingKey = key;
+        return this;
+    }
+
+    /**
+     * Get the priority class the transaction is executed with.
+     */
+    public StatementPriority getPriority() {
+        return _priority;
+    }
+
+    /**
+     * Set the priority class the transaction is executed with.
+     *
+     * @param priority  The priority.
+     *
+     * @return  Self for chaining.
+     */
+    public Transaction setPriority(StatementPriority priority) {
+        PreCon.notNull(priority);
+
+        _priority = priority;
+        return this;
+    }
+
+    /**
+     * Get the executor used to complete the transactions result.
+     *
+     * @return  The executor or null to use the database default.
+     */
+    @Nullable
+    public Executor getCompletionExecutor() {
+        return _completionExecutor;
+    }
+
+    /**
+     * Set the executor used to complete the transactions result.
+     *
+     * <p>By default results are completed on the main thread. Results completed
+     * by another executor must not be used to access Bukkit state. Use
+     * {@link StatementExecutor#DIRECT} to complete on the statement executor thread.</p>
+     *
+     * @param executor  The executor. Null to use the database default.
+     *
+     * @return  Self for chaining.
+     */
+    public Transaction setCompletionExecutor(@Nullable Executor executor) {
+        _completionExecutor = executor;
+        return this;
+    }
+
     public Collection<Table> getTempTables() {
         if (_tempTables == null)
             return CollectionUtils.unmodifiableList(Table.class);
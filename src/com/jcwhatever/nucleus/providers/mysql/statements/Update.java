@@ -37,21 +37,20 @@ import java.util.List;
  */
 public class Update implements ISqlUpdate {
 
-    private static final StatementSizeTracker _sizeTracker = new StatementSizeTracker(100, 25);
-
     private final Statement _statement;
     private final Table _table;
     private final Operator _operator;
     private final BoolOperator _boolOperator;
-    private final Clause _clause = new Clause();
-    private final Final _final = new Final();
-    private final JoinClause _joinClause = new JoinClause();
-    private final SetterOperator _setterOperator = new SetterOperator();
+    private Clause _clause;
+    private Final _final;
+    private JoinClause _joinClause;
+    private SetterOperator _setterOperator;
 
     private List<CompoundValue> _compoundValues;
     private int _setCount = 0;
     private boolean _isFinalized;
     private FinalizedStatement _finalized;
+    private int _shape = StatementShape.UPDATE;
     private boolean _isSetAppended;
     private String _currentJoinTable;
 
@@ -65,7 +64,7 @@ public class Update implements ISqlUpdate {
 
         _table = table;
         _statement = statement == null
-                ? new Statement(table.getDatabase(), _sizeTracker.getSize(), 10)
+                ? new Statement(table.getDatabase(), table.getSizeTracker(StatementShape.UPDATE).getSize(), 10)
                 : statement;
 
         _statement.setType(StatementType.UPDATE);
@@ -119,14 +118,46 @@ public class Update implements ISqlUpdate {
         }
     }
 
+    /**
+     * Set the priority class the statement is executed with.
+     *
+     * <p>Applies to all statements in the current statement context.</p>
+     *
+     * @param priority  The priority.
+     *
+     * @return  Self for chaining.
+     */
+    public Update priority(StatementPriority priority) {
+        assertNotFinalized();
+
+        _statement.setPriority(priority);
+        return this;
+    }
+
+    /**
+     * Set the query timeout in seconds the statement is executed with.
+     *
+     * <p>Applies to all statements in the current statement context.</p>
+     *
+     * @param seconds  The timeout. 0 for no timeout, -1 to use the database default.
+     *
+     * @return  Self for chaining.
+     */
+    public Update timeout(int seconds) {
+        assertNotFinalized();
+
+        _statement.setQueryTimeout(seconds);
+        return this;
+    }
+
     @Override
     public SetterOperator set(String column) {
-        return _final.set(column);
+        return getFinal().set(column);
     }
 
     @Override
     public SetterOperator set(ISqlTable table, String column) {
-        return _final.set(table, column);
+        return getFinal().set(table, column);
     }
 
     @Override
@@ -134,6 +165,8 @@ public class Update implements ISqlUpdate {
         PreCon.notNull(table);
         assertNotFinalized();
 
+        addClause(StatementShape.JOIN);
+
         //noinspection ConstantConditions
         statement()
                 .append(" INNER JOIN `")
@@ -142,7 +175,7 @@ public class Update implements ISqlUpdate {
 
         _currentJoinTable = '`' + table.getName() + '`';
 
-        return _joinClause;
+        return getJoinClause();
     }
 
     @Override
@@ -150,6 +183,8 @@ public class Update implements ISqlUpdate {
         PreCon.notNull(table);
         assertNotFinalized();
 
+        addClause(StatementShape.JOIN);
+
         statement()
                 .append(" LEFT JOIN `")
                 .append(table.getName())
@@ -157,7 +192,7 @@ public class Update implements ISqlUpdate {
 
         _currentJoinTable = '`' + table.getName() + '`';
 
-        return _joinClause;
+        return getJoinClause();
     }
 
     @Override
@@ -165,6 +200,8 @@ public class Update implements ISqlUpdate {
         PreCon.notNull(table);
         assertNotFinalized();
 
+        addClause(StatementShape.JOIN);
+
         statement()
                 .append(" RIGHT JOIN `")
                 .append(table.getName())
@@ -172,7 +209,7 @@ public class Update implements ISqlUpdate {
 
         _currentJoinTable = '`' + table.getName() + '`';
 
-        return _joinClause;
+        return getJoinClause();
     }
 
     @Override
@@ -195,11 +232,23 @@ public class Update implements ISqlUpdate {
                     "and cannot be modified.");
     }
 
+    /*
+     * Add a clause flag to the statement shape and grow the statement
+     * buffer to the size tracked for the new shape.
+     */
+    private void addClause(int clause) {
+        if ((_shape & clause) != 0)
+            return;
+
+        _shape |= clause;
+        _statement.getBuffer().ensureCapacity(_table.getSizeTracker(_shape).getSize());
+    }
+
     private FinalizedStatement finalizeStatement() {
         if (_isFinalized)
             return _finalized;
 
-        _sizeTracker.registerSize(_statement.getBuffer().length());
+        _table.getSizeTracker(_shape).registerSize(_statement.getBuffer().length());
         _finalized = _statement.finalizeStatement(_table);
         _isFinalized = true;
         return _finalized;
@@ -226,6 +275,34 @@ public class Update implements ISqlUpdate {
         statement().append(" SET ");
     }
 
+    private Clause getClause() {
+        if (_clause == null)
+            _clause = new Clause();
+
+        return _clause;
+    }
+
+    private Final getFinal() {
+        if (_final == null)
+            _final = new Final();
+
+        return _final;
+    }
+
+    private JoinClause getJoinClause() {
+        if (_joinClause == null)
+            _joinClause = new JoinClause();
+
+        return _joinClause;
+    }
+
+    private SetterOperator getSetterOperator() {
+        if (_setterOperator == null)
+            _setterOperator = new SetterOperator();
+
+        return _setterOperator;
+    }
+
     private class Operator extends AbstractOperator<ISqlUpdateLogicalOperator>
             implements ISqlUpdateOperator {
 
@@ -253,82 +330,82 @@ public class Update implements ISqlUpdate {
 
         @Override
         public Clause limit(int count) {
-            return _clause.limit(count) ;
+            return getClause().limit(count) ;
         }
 
         @Override
         public Clause orderByAscend(String columnName) {
-            return _clause.orderByDescend(columnName);
+            return getClause().orderByDescend(columnName);
         }
 
         @Override
         public Clause orderByAscend(ISqlTable table, String columnName) {
-            return _clause.orderByAscend(table, columnName);
+            return getClause().orderByAscend(table, columnName);
         }
 
         @Override
         public Clause orderByDescend(String columnName) {
-            return _clause.orderByDescend(columnName);
+            return getClause().orderByDescend(columnName);
         }
 
         @Override
         public Clause orderByDescend(ISqlTable table, String columnName) {
-            return _clause.orderByDescend(table, columnName);
+            return getClause().orderByDescend(table, columnName);
         }
 
         @Override
         public Clause orderBy(String columnName, SqlOrder order) {
-            return _clause.orderBy(columnName, order);
+            return getClause().orderBy(columnName, order);
         }
 
         @Override
         public Clause orderBy(ISqlTable table, String columnName, SqlOrder order) {
-            return _clause.orderBy(table, columnName, order);
+            return getClause().orderBy(table, columnName, order);
         }
 
         @Override
         public Clause orderBy(IOrderGenerator orderGenerator) {
-            return _clause.orderBy(orderGenerator);
+            return getClause().orderBy(orderGenerator);
         }
 
         @Override
         public IFutureResult<ISqlResult> execute() {
-            return _final.execute();
+            return getFinal().execute();
         }
 
         @Override
         public StatementBuilder endStatement() {
-            return _final.endStatement();
+            return getFinal().endStatement();
         }
 
         @Override
         public StatementBuilder setTable(ISqlTable table) {
-            return _final.setTable(table);
+            return getFinal().setTable(table);
         }
 
         @Override
         public StatementBuilder commitTransaction() {
-            return _final.commitTransaction();
+            return getFinal().commitTransaction();
         }
 
         @Override
         public PreparedStatement[] prepareStatements() throws SQLException {
-            return _final.prepareStatements();
+            return getFinal().prepareStatements();
         }
 
         @Override
         public ISqlStatement getStatement() {
-            return _final.getStatement();
+            return getFinal().getStatement();
         }
 
         @Override
         public IFutureResult<ISqlResult> addToTransaction(ISqlTransaction transaction) {
-            return _final.addToTransaction(transaction);
+            return getFinal().addToTransaction(transaction);
         }
 
         @Override
         public String toString() {
-            return _final.toString();
+            return getFinal().toString();
         }
 
         @Override
@@ -417,42 +494,42 @@ public class Update implements ISqlUpdate {
 
         @Override
         public IFutureResult<ISqlResult> execute() {
-            return _final.execute();
+            return getFinal().execute();
         }
 
         @Override
         public StatementBuilder endStatement() {
-            return _final.endStatement();
+            return getFinal().endStatement();
         }
 
         @Override
         public StatementBuilder setTable(ISqlTable table) {
-            return _final.setTable(table);
+            return getFinal().setTable(table);
         }
 
         @Override
         public StatementBuilder commitTransaction() {
-            return _final.commitTransaction();
+            return getFinal().commitTransaction();
         }
 
         @Override
         public PreparedStatement[] prepareStatements() throws SQLException {
-            return _final.prepareStatements();
+            return getFinal().prepareStatements();
         }
 
         @Override
         public ISqlStatement getStatement() {
-            return _final.getStatement();
+            return getFinal().getStatement();
         }
 
         @Override
         public IFutureResult<ISqlResult> addToTransaction(ISqlTransaction transaction) {
-            return _final.addToTransaction(transaction);
+            return getFinal().addToTransaction(transaction);
         }
 
         @Override
         public String toString() {
-            return _final.toString();
+            return getFinal().toString();
         }
 
         private void appendOrder(ISqlTable table, String columnName, SqlOrder order) {
@@ -533,13 +610,13 @@ public class Update implements ISqlUpdate {
         @Override
         public Final value(@Nullable Object value) {
 
-            if (_compoundValues != null && _final.currentSetterColumn.getDataType().isCompound()) {
+            if (_compoundValues != null && getFinal().currentSetterColumn.getDataType().isCompound()) {
 
                 CompoundDataManager manager = _table.getDatabase().getCompoundManager();
-                ICompoundDataHandler handler = manager.getHandler(_final.currentSetterColumn.getDataType());
+                ICompoundDataHandler handler = manager.getHandler(getFinal().currentSetterColumn.getDataType());
                 if (handler == null) {
                     throw new UnsupportedOperationException("Data type not supported: "
-                            + _final.currentSetterColumn.getDataType().getName());
+                            + getFinal().currentSetterColumn.getDataType().getName());
                 }
 
                 ICompoundDataIterator iterator = handler.dataIterator(value);
@@ -550,7 +627,7 @@ public class Update implements ISqlUpdate {
                             .append('`')
                             .append(handler.getTable().getName())
                             .append('_')
-                            .append(_final.currentSetterColumn.getName())
+                            .append(getFinal().currentSetterColumn.getName())
                             .append("`.`")
                             .append(iterator.getColumnName())
                             .append("`=?");
@@ -575,7 +652,7 @@ public class Update implements ISqlUpdate {
                 }
             }
 
-            return _final;
+            return getFinal();
         }
 
         @Override
@@ -597,7 +674,7 @@ public class Update implements ISqlUpdate {
                     .append(column)
                     .append('`');
 
-            return _final;
+            return getFinal();
         }
 
         @Override
@@ -607,13 +684,13 @@ public class Update implements ISqlUpdate {
 
             statement()
                     .append('`')
-                    .append(_final.currentSetterTable.getName())
+                    .append(getFinal().currentSetterTable.getName())
                     .append("`.`")
-                    .append(_final.currentSetterColumn.getName())
+                    .append(getFinal().currentSetterColumn.getName())
                     .append("`+")
                     .append(amount);
 
-            return _final;
+            return getFinal();
         }
 
         @Override
@@ -623,13 +700,13 @@ public class Update implements ISqlUpdate {
 
             statement()
                     .append('`')
-                    .append(_final.currentSetterTable.getName())
+                    .append(getFinal().currentSetterTable.getName())
                     .append("`.`")
-                    .append(_final.currentSetterColumn.getName())
+                    .append(getFinal().currentSetterColumn.getName())
                     .append("`+")
                     .append(amount);
 
-            return _final;
+            return getFinal();
         }
 
         @Override
@@ -646,16 +723,16 @@ public class Update implements ISqlUpdate {
 
             statement()
                     .append('`')
-                    .append(_final.currentSetterTable.getName())
+                    .append(getFinal().currentSetterTable.getName())
                     .append("`.`")
-                    .append(_final.currentSetterColumn.getName())
+                    .append(getFinal().currentSetterColumn.getName())
                     .append("`+`")
                     .append(table.getName())
                     .append("`.`")
                     .append(column)
                     .append('`');
 
-            return _final;
+            return getFinal();
         }
 
         @Override
@@ -664,13 +741,13 @@ public class Update implements ISqlUpdate {
 
             statement()
                     .append('`')
-                    .append(_final.currentSetterTable.getName())
+                    .append(getFinal().currentSetterTable.getName())
                     .append("`.`")
-                    .append(_final.currentSetterColumn.getName())
+                    .append(getFinal().currentSetterColumn.getName())
                     .append("`-")
                     .append(amount);
 
-            return _final;
+            return getFinal();
         }
 
         @Override
@@ -679,13 +756,13 @@ public class Update implements ISqlUpdate {
 
             statement()
                     .append('`')
-                    .append(_final.currentSetterTable.getName())
+                    .append(getFinal().currentSetterTable.getName())
                     .append("`.`")
-                    .append(_final.currentSetterColumn.getName())
+                    .append(getFinal().currentSetterColumn.getName())
                     .append("`-")
                     .append(amount);
 
-            return _final;
+            return getFinal();
         }
 
         @Override
@@ -702,21 +779,21 @@ public class Update implements ISqlUpdate {
 
             statement()
                     .append('`')
-                    .append(_final.currentSetterTable.getName())
+                    .append(getFinal().currentSetterTable.getName())
                     .append("`.`")
-                    .append(_final.currentSetterColumn.getName())
+                    .append(getFinal().currentSetterColumn.getName())
                     .append("`-`")
                     .append(table.getName())
                     .append("`.`")
                     .append(column)
                     .append('`');
 
-            return _final;
+            return getFinal();
         }
 
         @Override
         public Final largerColumn(ISqlTable table, String column) {
-            return largerColumn(_final.currentSetterTable, _final.currentSetterColumn.getName(), table, column);
+            return largerColumn(getFinal().currentSetterTable, getFinal().currentSetterColumn.getName(), table, column);
         }
 
         @Override
@@ -747,12 +824,12 @@ public class Update implements ISqlUpdate {
                     .append(column2)
                     .append("`)");
 
-            return _final;
+            return getFinal();
         }
 
         @Override
         public Final smallerColumn(ISqlTable table, String column) {
-            return largerColumn(_final.currentSetterTable, _final.currentSetterColumn.getName(), table, column);
+            return largerColumn(getFinal().currentSetterTable, getFinal().currentSetterColumn.getName(), table, column);
         }
 
         @Override
@@ -783,15 +860,15 @@ public class Update implements ISqlUpdate {
                     .append(column2)
                     .append("`)");
 
-            return _final;
+            return getFinal();
         }
 
         private void appendStart() {
             statement()
                     .append('`')
-                    .append(_final.currentSetterTable.getName())
+                    .append(getFinal().currentSetterTable.getName())
                     .append("`.`")
-                    .append(_final.currentSetterColumn.getName())
+                    .append(getFinal().currentSetterColumn.getName())
                     .append("`=");
         }
     }
@@ -826,7 +903,7 @@ public class Update implements ISqlUpdate {
 
             _setCount++;
 
-            return _setterOperator;
+            return getSetterOperator();
         }
 
         @Override
@@ -834,6 +911,8 @@ public class Update implements ISqlUpdate {
             PreCon.notNullOrEmpty(column);
             assertNotFinalized();
 
+            addClause(StatementShape.WHERE);
+
             statement()
                     .append(" WHERE `")
                     .append(column)
@@ -848,6 +927,8 @@ public class Update implements ISqlUpdate {
             PreCon.notNullOrEmpty(column);
             assertNotFinalized();
 
+            addClause(StatementShape.WHERE);
+
             statement()
                     .append(" WHERE `")
                     .append(table.getName())
@@ -7,6 +7,8 @@ import com.jcwhatever.nucleus.providers.mysql.statements.InsertInto;
 import com.jcwhatever.nucleus.providers.mysql.statements.Select;
 import com.jcwhatever.nucleus.providers.mysql.statements.Statement;
 import com.jcwhatever.nucleus.providers.mysql.statements.StatementBuilder;
+import com.jcwhatever.nucleus.providers.mysql.statements.StatementShape;
+import com.jcwhatever.nucleus.providers.mysql.statements.StatementSizeTracker;
 import com.jcwhatever.nucleus.providers.mysql.statements.Transaction;
 import com.jcwhatever.nucleus.providers.mysql.statements.Update;
 import com.jcwhatever.nucleus.providers.sql.ISqlTable;
@@ -18,6 +20,7 @@ import com.jcwhatever.nucleus.providers.sql.statement.select.ISqlSelect;
 import com.jcwhatever.nucleus.utils.PreCon;
 
 import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Implementation of {@link ISqlTable}.
@@ -28,6 +31,8 @@ public class Table implements ISqlTable {
     private final Database _database;
     private final ISqlTableDefinition _definition;
     private final Transaction _transaction;
+    private final AtomicReferenceArray<StatementSizeTracker> _sizeTrackers =
+            new AtomicReferenceArray<>(StatementShape.TOTAL);
 
     // temp table fields
     private boolean _isRemoved;
@@ -161,6 +166,23 @@ public class Table implements ISqlTable {
         return _transaction;
     }
 
+    /**
+     * Get the statement size tracker for a statement shape.
+     *
+     * @param shape  The shape id. See {@link StatementShape}.
+     */
+    public StatementSizeTracker getSizeTracker(int shape) {
+        PreCon.positiveNumber(shape);
+        PreCon.isValid(shape < StatementShape.TOTAL, "Invalid statement shape.");
+
+        StatementSizeTracker tracker = _sizeTrackers.get(shape);
+        if (tracker != null)
+            return tracker;
+
+        _sizeTrackers.compareAndSet(shape, null, new StatementSizeTracker(100, 25));
+        return _sizeTrackers.get(shape);
+    }
+
     /**
      * Used internally if the table is a temporary table to
      * set flag indicating that the table has been removed